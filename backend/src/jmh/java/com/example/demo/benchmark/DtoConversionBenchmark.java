@@ -0,0 +1,115 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.dto.TeamDTO;
+import com.example.demo.dto.TeamProjection;
+import com.example.demo.dto.TournamentBasicDTO;
+import com.example.demo.dto.TournamentDTO;
+import com.example.demo.dto.TournamentProjection;
+import com.example.demo.entity.Group;
+import com.example.demo.entity.Team;
+import com.example.demo.entity.Tournament;
+import com.example.demo.entity.User;
+import com.example.demo.service.DTOConversionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoConversionBenchmark {
+    
+    @Param({"16", "256", "1024", "10000"})
+    private int teamCount;
+    
+    private final DTOConversionService dtoConversionService = new DTOConversionService();
+    
+    private Tournament tournament;
+    private TournamentProjection tournamentProjection;
+    private List<TeamProjection> teamProjections;
+    
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        User admin = user(1L, "admin", User.Role.ADMIN);
+        
+        tournament = new Tournament();
+        tournament.setId(1L);
+        tournament.setName("Benchmark Cup");
+        tournament.setDescription("Tournament used by the DTO conversion benchmark");
+        tournament.setStartDate(now);
+        tournament.setEndDate(now.plusDays(7));
+        tournament.setMaxTeams(teamCount);
+        tournament.setCreatedBy(admin);
+        tournament.setCreatedAt(now);
+        
+        Group group = new Group();
+        group.setId(1L);
+        group.setName("Group A");
+        group.setTournament(tournament);
+        
+        teamProjections = new ArrayList<>(teamCount);
+        for (int i = 0; i < teamCount; i++) {
+            User owner = user(i + 2L, "user" + i, User.Role.USER);
+            Team team = new Team();
+            team.setId((long) i);
+            team.setName("Team " + i);
+            team.setDescription("Description of team " + i);
+            team.setTournament(tournament);
+            team.setCreatedBy(owner);
+            team.setCreatedAt(now);
+            team.setGroup(i % 2 == 0 ? group : null);
+            tournament.getTeams().add(team);
+            
+            teamProjections.add(new TeamProjection(team.getId(), team.getName(), team.getDescription(),
+                    owner.getUsername(), now, 1L, team.getGroup() == null ? null : 1L,
+                    team.getGroup() == null ? null : "Group A"));
+        }
+        
+        tournamentProjection = new TournamentProjection(1L, tournament.getName(), tournament.getDescription(),
+                now, now.plusDays(7), teamCount, Tournament.Status.UPCOMING, admin.getUsername(), now, null);
+    }
+    
+    // Entity graph walk, as used by the write paths and the original read paths
+    @Benchmark
+    public TournamentDTO convertEntity() {
+        return dtoConversionService.convertToTournamentDTO(tournament);
+    }
+    
+    // Projection assembly, as done by ReadModelService.getTournament
+    @Benchmark
+    public TournamentDTO convertProjection() {
+        TournamentBasicDTO basic = dtoConversionService.convertToTournamentBasicDTO(tournamentProjection);
+        List<TeamDTO> teams = teamProjections.stream()
+                .map(team -> dtoConversionService.convertToTeamDTO(team, basic))
+                .collect(Collectors.toList());
+        return dtoConversionService.convertToTournamentDTO(tournamentProjection, teams);
+    }
+    
+    private static User user(Long id, String username, User.Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("x");
+        user.setRole(role);
+        return user;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.dto.TeamDrawEntry;
+import com.example.demo.service.GroupDrawEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// In-memory part of GroupService.assignTeamsToGroupsRandomly: pots, creator separation and dealing
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GroupDrawBenchmark {
+    
+    @Param({"16", "256", "2048", "10000"})
+    private int teamCount;
+    
+    @Param({"4", "64"})
+    private int numberOfGroups;
+    
+    // Teams per creator; higher values make creator separation work harder
+    @Param({"1", "8"})
+    private int teamsPerCreator;
+    
+    private final GroupDrawEngine engine = new GroupDrawEngine();
+    private List<TeamDrawEntry> teams;
+    private List<List<Long>> pots;
+    private long seed;
+    
+    @Setup
+    public void setUp() {
+        teams = new ArrayList<>(teamCount);
+        for (long i = 0; i < teamCount; i++) {
+            teams.add(new TeamDrawEntry(i, i / teamsPerCreator));
+        }
+        // One pot of top seeds, one per group
+        List<Long> topSeeds = new ArrayList<>();
+        for (long i = 0; i < Math.min(numberOfGroups, teamCount); i++) {
+            topSeeds.add(i);
+        }
+        pots = List.of(topSeeds);
+    }
+    
+    @Benchmark
+    public GroupDrawEngine.DrawResult draw() {
+        return engine.draw(teams, Math.min(numberOfGroups, teamCount), pots, true, seed++);
+    }
+}
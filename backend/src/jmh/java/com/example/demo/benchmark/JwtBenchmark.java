@@ -0,0 +1,54 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.util.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+    
+    private JwtUtil jwtUtil;
+    private String token;
+    
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(10_000, Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86_400_000L);
+        token = jwtUtil.generateToken(42L, "benchmark-user", "USER");
+    }
+    
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(42L, "benchmark-user", "USER");
+    }
+    
+    // Same token on every call, as in a client session: served from the verified-token cache
+    @Benchmark
+    public Boolean validateTokenCached() {
+        return jwtUtil.validateToken(token, "benchmark-user");
+    }
+    
+    // A fresh token per call always misses the cache and pays for the full HMAC verification
+    @Benchmark
+    public Boolean generateAndValidateToken() {
+        String fresh = jwtUtil.generateToken(42L, "benchmark-user", "USER");
+        return jwtUtil.validateToken(fresh, "benchmark-user");
+    }
+}
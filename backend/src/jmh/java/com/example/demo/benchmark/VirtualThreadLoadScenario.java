@@ -0,0 +1,180 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.dto.TeamRequest;
+import com.example.demo.entity.User;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.TeamService;
+import com.example.demo.util.JwtUtil;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Closed-loop HTTP load against the real application, once on the platform-thread Tomcat pool and once
+// with spring.threads.virtual.enabled, reporting throughput and latency percentiles for each.
+// Uses an in-memory H2 database by default, where queries barely block; point it at MySQL with
+// datasource-url=... (plus datasource-username/password) for numbers that reflect blocking JDBC.
+//
+// Run with: ./mvnw -Pbenchmarks test-compile exec:exec@load-scenario -Dscenario.args="clients=400 duration=30s"
+public class VirtualThreadLoadScenario {
+    
+    private static final String[] READ_PATHS = {
+            "/api/tournaments/1", "/api/tournaments/1", "/api/tournaments/1",
+            "/api/teams/tournament/1", "/api/groups/tournament/1", "/api/tournaments/page"
+    };
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(Map.of(
+                "clients", "400",
+                "duration", "20s",
+                "warmup", "5s",
+                "platform-threads", "200"
+        ));
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "");
+        }
+        
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-9s %9s %10s %9s %9s %9s %7s", "mode", "requests", "req/s", "p50 ms", "p99 ms", "max ms", "errors"));
+        report.add(run(false, options));
+        if (Runtime.version().feature() >= 21) {
+            report.add(run(true, options));
+        } else {
+            report.add("virtual   skipped: requires Java 21+, running on " + Runtime.version());
+        }
+        report.forEach(System.out::println);
+    }
+    
+    private static String run(boolean virtualThreads, Map<String, String> options) throws Exception {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("spring.threads.virtual.enabled", virtualThreads);
+        properties.put("server.tomcat.threads.max", Integer.parseInt(options.get("platform-threads")));
+        properties.put("spring.datasource.hikari.maximum-pool-size", 40);
+        properties.put("server.virtual-threads.max-concurrent-requests", 160);
+        // Every client shares one user; the scenario measures the server, not the per-user limits
+        properties.put("ratelimit.enabled", false);
+        properties.put("spring.datasource.url", options.getOrDefault("datasource-url", "jdbc:h2:mem:load;DB_CLOSE_DELAY=-1"));
+        properties.put("spring.datasource.username", options.getOrDefault("datasource-username", "sa"));
+        properties.put("spring.datasource.password", options.getOrDefault("datasource-password", ""));
+        if (!options.containsKey("datasource-url")) {
+            properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+            properties.put("spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect");
+            properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        }
+        
+        // Passed as command-line arguments so they take precedence over application.properties
+        String[] arguments = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class).run(arguments)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            User user = context.getBean(UserRepository.class).findByUsername("testuser").orElseThrow();
+            String token = context.getBean(JwtUtil.class).generateToken(user.getId(), user.getUsername(), user.getRole().name());
+            seedTeams(context, user);
+            
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+            int clients = Integer.parseInt(options.get("clients"));
+            drive(client, port, token, clients, Duration.parse("PT" + options.get("warmup")), null);
+            
+            Recorder recorder = new Recorder();
+            Duration duration = Duration.parse("PT" + options.get("duration"));
+            drive(client, port, token, clients, duration, recorder);
+            return recorder.summary(virtualThreads ? "virtual" : "platform", duration);
+        }
+    }
+    
+    private static void seedTeams(ConfigurableApplicationContext context, User user) {
+        TeamService teamService = context.getBean(TeamService.class);
+        for (int i = 0; i < 16; i++) {
+            TeamRequest request = new TeamRequest();
+            request.setName("Load Team " + i);
+            request.setTournamentId(1L);
+            try {
+                teamService.createTeam(request, user);
+            } catch (RuntimeException e) {
+                // Already seeded (persistent database) or the tournament is full
+                return;
+            }
+        }
+    }
+    
+    // Each client sends its next request as soon as the previous one completes, until the deadline
+    private static void drive(HttpClient client, int port, String token, int clients, Duration duration,
+                              Recorder recorder) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        CompletableFuture<?>[] loops = new CompletableFuture<?>[clients];
+        for (int i = 0; i < clients; i++) {
+            loops[i] = loop(client, port, token, deadline, recorder);
+        }
+        CompletableFuture.allOf(loops).get();
+    }
+    
+    private static CompletableFuture<Void> loop(HttpClient client, int port, String token, long deadline, Recorder recorder) {
+        if (System.nanoTime() >= deadline) {
+            return CompletableFuture.completedFuture(null);
+        }
+        String path = READ_PATHS[ThreadLocalRandom.current().nextInt(READ_PATHS.length)];
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .build();
+        long start = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    if (recorder != null) {
+                        recorder.record(System.nanoTime() - start, error == null && response.statusCode() == 200);
+                    }
+                    return null;
+                })
+                .thenCompose(ignored -> loop(client, port, token, deadline, recorder));
+    }
+    
+    private static class Recorder {
+        private long[] latencies = new long[1 << 16];
+        private int count;
+        private final AtomicLong errors = new AtomicLong();
+        
+        synchronized void record(long nanos, boolean ok) {
+            if (!ok) {
+                errors.incrementAndGet();
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+        
+        synchronized String summary(String mode, Duration duration) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return String.format("%-9s %9d %10.0f %9.2f %9.2f %9.2f %7d", mode, count,
+                    count / (duration.toMillis() / 1000.0),
+                    percentile(sorted, 0.50), percentile(sorted, 0.99),
+                    sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1e6, errors.get());
+        }
+        
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)] / 1e6;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.example.demo.entity.User;
 import com.example.demo.entity.Tournament;
 import com.example.demo.repository.UserRepository;
 import com.example.demo.repository.TournamentRepository;
+import com.example.demo.service.TeamService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -23,6 +24,9 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private TeamService teamService;
+    
     @Override
     public void run(String... args) throws Exception {
         // Create admin user if doesn't exist
@@ -69,5 +73,13 @@ public class DataInitializer implements CommandLineRunner {
             
             System.out.println("Created sample tournament");
         }
+        
+        // Bring team counters in line with the teams table (covers rows created before the counter existed)
+        tournamentRepository.recountTeams();
+        
+        int normalized = teamService.backfillNormalizedNames();
+        if (normalized > 0) {
+            System.out.println("Normalized names of " + normalized + " existing teams");
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.example.demo.config;
+
+import lombok.Getter;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// SQL statements prepared and entities loaded by Hibernate while the current request is handled. Counting
+// is a thread-local increment and only happens between begin and end; other threads (scheduled tasks,
+// the SSE dispatcher) are not counted. JDBC batches sent through JdbcTemplate bypass Hibernate and are
+// not included.
+public final class HibernateRequestStats {
+    
+    @Getter
+    public static final class Counts {
+        private long statements;
+        private long entityLoads;
+    }
+    
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+    
+    private HibernateRequestStats() {
+    }
+    
+    static void begin() {
+        CURRENT.set(new Counts());
+    }
+    
+    // The counts since begin, or null if nothing was being counted
+    static Counts end() {
+        Counts counts = CURRENT.get();
+        CURRENT.remove();
+        return counts;
+    }
+    
+    // Set as hibernate.session_factory.statement_inspector, so Hibernate creates it by class name
+    public static class StatementCounter implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            Counts counts = CURRENT.get();
+            if (counts != null) {
+                counts.statements++;
+            }
+            return sql;
+        }
+    }
+    
+    static class EntityLoadCounter implements PostLoadEventListener {
+        @Override
+        public void onPostLoad(PostLoadEvent event) {
+            Counts counts = CURRENT.get();
+            if (counts != null) {
+                counts.entityLoads++;
+            }
+        }
+    }
+}
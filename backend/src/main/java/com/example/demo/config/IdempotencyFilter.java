@@ -0,0 +1,225 @@
+package com.example.demo.config;
+
+import com.example.demo.dto.AuthenticatedUser;
+import com.example.demo.service.IdempotencyStore;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.TimeoutException;
+
+// Replays the stored response of a mutating request retried with the same Idempotency-Key, so a client
+// retry after a timeout neither runs the service call again nor registers a duplicate. Keys are scoped to
+// the authenticated user; requests without a key or without a user pass straight through. Runs after
+// authorization, so rejected requests are never stored. Only outcomes a retry would repeat are stored: 2xx
+// and the controllers' 403 role checks. Anything else releases the key so a retry runs again, since the
+// controllers answer every caught exception with 400, including a lock timeout or a lost connection.
+// A request is identified by its method, path, query string and a SHA-256 of its body. The body is hashed
+// as the handler reads it rather than buffered, so streamed team imports stay streamed.
+@Component
+class IdempotencyFilter extends OncePerRequestFilter {
+    
+    static final String KEY_HEADER = "Idempotency-Key";
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+    
+    @Value("${idempotency.max-key-length:255}")
+    private int maxKeyLength;
+    
+    @Value("${idempotency.in-flight-wait:10s}")
+    private Duration inFlightWait;
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        
+        String key = request.getHeader(KEY_HEADER);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (key == null || !isMutating(request.getMethod())
+                || authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (key.isBlank() || key.length() > maxKeyLength) {
+            reject(response, HttpStatus.BAD_REQUEST, KEY_HEADER + " must be between 1 and " + maxKeyLength + " characters");
+            return;
+        }
+        
+        String storeKey = user.getId() + ":" + key;
+        DigestingRequest digesting = new DigestingRequest(request);
+        IdempotencyStore.StoredResponse stored;
+        try {
+            stored = idempotencyStore.acquire(storeKey, inFlightWait);
+        } catch (TimeoutException e) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, inFlightWait.toSeconds())));
+            reject(response, HttpStatus.CONFLICT, "A request with this " + KEY_HEADER + " is still in progress");
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+        
+        if (stored != null) {
+            if (!stored.getFingerprint().equals(fingerprint(digesting))) {
+                reject(response, HttpStatus.UNPROCESSABLE_ENTITY, KEY_HEADER + " was already used for a different request");
+                return;
+            }
+            replay(stored, response);
+            return;
+        }
+        
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(digesting, wrapper);
+            if (isFinal(wrapper.getStatus())) {
+                idempotencyStore.complete(storeKey, new IdempotencyStore.StoredResponse(
+                        fingerprint(digesting), wrapper.getStatus(), wrapper.getContentType(), wrapper.getContentAsByteArray()));
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                idempotencyStore.release(storeKey);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+    
+    // Reads whatever the handler left of the body, so a request that failed early is still told apart
+    private static String fingerprint(DigestingRequest request) throws IOException {
+        String query = request.getQueryString();
+        return request.getMethod() + " " + request.getRequestURI() + (query != null ? "?" + query : "")
+                + " " + request.finishDigest();
+    }
+    
+    private static boolean isFinal(int status) {
+        return (status >= 200 && status < 300) || status == HttpStatus.FORBIDDEN.value();
+    }
+    
+    private static boolean isMutating(String method) {
+        return "POST".equals(method) || "PUT".equals(method) || "PATCH".equals(method) || "DELETE".equals(method);
+    }
+    
+    // Plain-text message, like the controllers' error bodies
+    private static void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(message);
+    }
+    
+    private static void replay(IdempotencyStore.StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.getStatus());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.getContentType() != null) {
+            response.setContentType(stored.getContentType());
+        }
+        response.setContentLength(stored.getBody().length);
+        response.getOutputStream().write(stored.getBody());
+    }
+    
+    // Passes the body through unchanged while feeding every byte read into a SHA-256 digest
+    private static class DigestingRequest extends HttpServletRequestWrapper {
+        
+        private final MessageDigest digest;
+        private ServletInputStream inputStream;
+        private BufferedReader reader;
+        private String hash;
+        
+        DigestingRequest(HttpServletRequest request) {
+            super(request);
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                ServletInputStream delegate = super.getInputStream();
+                inputStream = new ServletInputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        int b = delegate.read();
+                        if (b >= 0) {
+                            digest.update((byte) b);
+                        }
+                        return b;
+                    }
+                    
+                    @Override
+                    public int read(byte[] buffer, int offset, int length) throws IOException {
+                        int read = delegate.read(buffer, offset, length);
+                        if (read > 0) {
+                            digest.update(buffer, offset, read);
+                        }
+                        return read;
+                    }
+                    
+                    @Override
+                    public boolean isFinished() {
+                        return delegate.isFinished();
+                    }
+                    
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+                    
+                    @Override
+                    public void setReadListener(ReadListener listener) {
+                        delegate.setReadListener(listener);
+                    }
+                };
+            }
+            return inputStream;
+        }
+        
+        @Override
+        public BufferedReader getReader() throws IOException {
+            if (reader == null) {
+                Charset charset = getCharacterEncoding() != null
+                        ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+                reader = new BufferedReader(new InputStreamReader(getInputStream(), charset));
+            }
+            return reader;
+        }
+        
+        String finishDigest() throws IOException {
+            if (hash == null) {
+                getInputStream().transferTo(OutputStream.nullOutputStream());
+                hash = HexFormat.of().formatHex(digest.digest());
+            }
+            return hash;
+        }
+    }
+}
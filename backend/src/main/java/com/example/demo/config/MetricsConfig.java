@@ -0,0 +1,91 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Metrics scraped from /actuator/prometheus (admins only, see SecurityConfig). Actuator itself provides the
+// endpoint latency histograms (http.server.requests), Hikari pool gauges and the @Timed service timers.
+// This adds the Hibernate statement and entity-load counts of each request, tagged like the HTTP timer by
+// method and URI template so the number of series stays fixed by the routes, not by the ids requested.
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @PostConstruct
+    void registerEntityLoadCounter() {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, new HibernateRequestStats.EntityLoadCounter());
+    }
+    
+    // Scrapes and health checks would otherwise show up as API traffic. Static, as the registry applies it
+    // while it is created and this class depends on the registry
+    @Bean
+    public static MeterFilter ignoreActuatorRequests() {
+        return MeterFilter.deny(id -> id.getName().equals("http.server.requests")
+                && String.valueOf(id.getTag("uri")).startsWith("/actuator"));
+    }
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AsyncHandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                HibernateRequestStats.begin();
+                return true;
+            }
+            
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                        Exception ex) {
+                HibernateRequestStats.Counts counts = HibernateRequestStats.end();
+                if (counts != null) {
+                    record(request, counts);
+                }
+            }
+            
+            // Event streams leave the handler thread once the emitter is returned; their queries are not counted
+            @Override
+            public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                                       Object handler) {
+                HibernateRequestStats.end();
+            }
+        }).addPathPatterns("/api/**");
+    }
+    
+    private void record(HttpServletRequest request, HibernateRequestStats.Counts counts) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("hibernate.request.statements")
+                .description("SQL statements prepared by Hibernate per request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(meterRegistry)
+                .record(counts.getStatements());
+        DistributionSummary.builder("hibernate.request.entity.loads")
+                .description("Entities loaded by Hibernate per request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(meterRegistry)
+                .record(counts.getEntityLoads());
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.demo.config;
+
+import com.example.demo.service.RateLimiter;
+import com.example.demo.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Answers 429 with Retry-After once a client has used up its bucket for the route (see RateLimiter).
+// Runs before JwtAuthenticationFilter, so a flood is turned away before any token is verified or password
+// hashed. Auth routes are limited per IP. Elsewhere the client is the JWT subject, taken only from a token
+// that has already been verified and cached; an unknown or forged token is limited by IP instead.
+@Component
+class RateLimitFilter extends OncePerRequestFilter {
+    
+    @Autowired
+    private RateLimiter rateLimiter;
+    
+    @Autowired
+    private JwtUtil jwtUtil;
+    
+    @Value("${ratelimit.enabled:true}")
+    private boolean enabled;
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!enabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
+        RateLimiter.Policy policy = rateLimiter.policyFor(request.getMethod(), request.getRequestURI());
+        long waitNanos = rateLimiter.tryAcquire(policy, client(request, policy));
+        if (waitNanos > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+    
+    private String client(HttpServletRequest request, RateLimiter.Policy policy) {
+        if (!policy.isPerIp()) {
+            String authorizationHeader = request.getHeader("Authorization");
+            if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+                Claims claims = jwtUtil.peekVerifiedClaims(authorizationHeader.substring(7));
+                if (claims != null) {
+                    return "user:" + claims.getSubject();
+                }
+            }
+        }
+        // The remote address is the proxy's unless server.forward-headers-strategy is configured
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -1,12 +1,18 @@
 package com.example.demo.config;
 
+import com.example.demo.dto.AuthenticatedUser;
 import com.example.demo.service.CustomUserDetailsService;
+import com.example.demo.entity.User;
+import com.example.demo.service.UserCache;
 import com.example.demo.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -15,11 +21,12 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.stereotype.Component;
 import org.springframework.web.cors.CorsConfiguration;
@@ -29,6 +36,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.List;
 
 @Configuration
 @EnableWebSecurity
@@ -40,22 +48,37 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
     
+    @Autowired
+    private IdempotencyFilter idempotencyFilter;
+    
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+    
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(authz -> authz
+                        // Completion and timeout of event streams re-dispatch without the JWT filter having run
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/api/tournaments/**").authenticated()
                         .requestMatchers("/api/teams/**").authenticated()
+                        .requestMatchers("/api/search/**").authenticated()
+                        .requestMatchers("/api/matches/**").authenticated()
                         .requestMatchers("/api/users/profile").authenticated()
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
         
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        http.addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class);
+        // Last in the chain: only authorized requests are stored and replayed
+        http.addFilterAfter(idempotencyFilter, AuthorizationFilter.class);
         
         return http.build();
     }
@@ -65,9 +88,10 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
     
+    // Hashes stored with another cost are re-hashed on the next successful login
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
     
     @Bean
@@ -76,6 +100,7 @@ public class SecurityConfig {
         configuration.setAllowedOriginPatterns(Arrays.asList("*"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList(IdempotencyFilter.REPLAYED_HEADER));
         configuration.setAllowCredentials(true);
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -91,7 +116,7 @@ class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtUtil jwtUtil;
     
     @Autowired
-    private CustomUserDetailsService userDetailsService;
+    private UserCache userCache;
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -99,28 +124,58 @@ class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         final String authorizationHeader = request.getHeader("Authorization");
         
-        String username = null;
+        Claims claims = null;
         String jwt = null;
         
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             jwt = authorizationHeader.substring(7);
+        } else if (isEventStream(request)) {
+            // Browsers' EventSource cannot set headers, so event streams may pass the token as a parameter
+            jwt = request.getParameter("access_token");
+        }
+        
+        if (jwt != null) {
             try {
-                username = jwtUtil.extractUsername(jwt);
+                // Signature and expiry are verified here; the claims are trusted from this point on
+                claims = jwtUtil.extractAllClaims(jwt);
             } catch (Exception e) {
-                logger.error("Error extracting username from JWT", e);
+                logger.error("Error validating JWT", e);
             }
         }
         
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        if (claims != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            AuthenticatedUser principal = resolvePrincipal(claims);
             
-            if (jwtUtil.validateToken(jwt, userDetails.getUsername())) {
-                UsernamePasswordAuthenticationToken authToken = 
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+            if (principal != null) {
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        principal, null, List.of(new SimpleGrantedAuthority("ROLE_" + principal.getRole().name())));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
         
         filterChain.doFilter(request, response);
     }
+    
+    private boolean isEventStream(HttpServletRequest request) {
+        return "GET".equals(request.getMethod()) && request.getRequestURI().endsWith("/events");
+    }
+    
+    private AuthenticatedUser resolvePrincipal(Claims claims) {
+        Long userId = jwtUtil.extractUserId(claims);
+        String role = claims.get("role", String.class);
+        
+        if (userId == null || role == null) {
+            // Tokens issued before the id claim existed fall back to the cached entity
+            User user = userCache.findByUsername(claims.getSubject()).orElse(null);
+            if (user == null || !user.getActive()) {
+                return null;
+            }
+            return new AuthenticatedUser(user.getId(), user.getUsername(), user.getRole());
+        }
+        
+        if (userCache.isDeactivated(userId)) {
+            return null;
+        }
+        return new AuthenticatedUser(userId, claims.getSubject(), User.Role.valueOf(role));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.example.demo.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Active when spring.threads.virtual.enabled=true on Java 21+ (see application-virtual-threads.properties).
+// Tomcat then starts a virtual thread per request with no upper bound, so the worker pool no longer
+// limits how many requests wait on Hikari at once. This bulkhead restores that limit: requests beyond
+// it wait briefly for a permit and are otherwise answered 503 instead of timing out on the pool.
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+    
+    @Bean
+    public FilterRegistrationBean<RequestConcurrencyLimitFilter> requestConcurrencyLimitFilter(
+            @Value("${server.virtual-threads.max-concurrent-requests:200}") int maxConcurrentRequests,
+            @Value("${server.virtual-threads.acquire-timeout:2s}") Duration acquireTimeout) {
+        FilterRegistrationBean<RequestConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new RequestConcurrencyLimitFilter(maxConcurrentRequests, acquireTimeout));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
+
+class RequestConcurrencyLimitFilter extends OncePerRequestFilter {
+    
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+    
+    RequestConcurrencyLimitFilter(int maxConcurrentRequests, Duration acquireTimeout) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            return;
+        }
+        
+        // Event streams release their permit as soon as the handler returns; the open stream holds none
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
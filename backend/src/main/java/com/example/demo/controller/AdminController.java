@@ -1,8 +1,18 @@
 package com.example.demo.controller;
 
+import com.example.demo.entity.User;
+import com.example.demo.service.DashboardStatsService;
+import com.example.demo.service.PasswordHashingService;
+import com.example.demo.service.ReadModelCache;
+import com.example.demo.service.UserService;
+import com.example.demo.util.JwtUtil;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -13,11 +23,55 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class AdminController {
     
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private JwtUtil jwtUtil;
+    
+    @Autowired
+    private ReadModelCache readModelCache;
+    
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+    
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+    
+    // Served from in-memory counters; safe to poll
     @GetMapping("/dashboard-stats")
     public ResponseEntity<?> getDashboardStats() {
         try {
+            return ResponseEntity.ok(dashboardStatsService.getDashboardStats());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    @GetMapping("/jwt-cache-stats")
+    public ResponseEntity<?> getJwtCacheStats() {
+        return ResponseEntity.ok(jwtUtil.getCacheStats());
+    }
+    
+    @GetMapping("/password-hashing-stats")
+    public ResponseEntity<?> getPasswordHashingStats() {
+        return ResponseEntity.ok(passwordHashingService.getStats());
+    }
+    
+    @GetMapping("/read-cache-stats")
+    public ResponseEntity<?> getReadCacheStats() {
+        return ResponseEntity.ok(readModelCache.getStats());
+    }
+    
+    // Deactivation takes effect immediately for existing tokens and evicts the cached user
+    @PutMapping("/users/{id}/active")
+    public ResponseEntity<?> setUserActive(@PathVariable Long id, @RequestBody Boolean active) {
+        try {
+            User user = userService.setActive(id, active);
             return ResponseEntity.ok(Map.of(
-                    "message", "Dashboard stats"
+                    "id", user.getId(),
+                    "username", user.getUsername(),
+                    "active", user.getActive()
             ));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
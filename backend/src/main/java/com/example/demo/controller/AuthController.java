@@ -4,58 +4,94 @@ import com.example.demo.dto.AuthResponse;
 import com.example.demo.dto.LoginRequest;
 import com.example.demo.dto.RegisterRequest;
 import com.example.demo.entity.User;
+import com.example.demo.service.PasswordHashingService;
 import com.example.demo.service.UserService;
 import com.example.demo.util.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+// Both endpoints hash on PasswordHashingService's pool and complete asynchronously, so the request
+// thread is released while BCrypt runs
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "*")
 public class AuthController {
     
     @Autowired
-    private AuthenticationManager authenticationManager;
+    private UserService userService;
     
     @Autowired
-    private UserService userService;
+    private PasswordHashingService passwordHashingService;
     
     @Autowired
     private JwtUtil jwtUtil;
     
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor taskExecutor;
+    
     @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody RegisterRequest request) {
+    public CompletableFuture<ResponseEntity<?>> register(@RequestBody RegisterRequest request) {
         try {
-            User user = userService.createUser(request);
-            String token = jwtUtil.generateToken(user.getUsername(), user.getRole().name());
-            
-            return ResponseEntity.ok(new AuthResponse(token, user.getUsername(), user.getRole().name()));
+            userService.checkAvailable(request);
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(e.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(e.getMessage()));
         }
+        
+        // The insert runs on the task executor so hashing threads only ever hash
+        return passwordHashingService.encode(request.getPassword())
+                .<ResponseEntity<?>>thenApplyAsync(encodedPassword -> {
+                    User user = userService.createUser(request, encodedPassword);
+                    String token = jwtUtil.generateToken(user.getId(), user.getUsername(), user.getRole().name());
+                    return ResponseEntity.ok(new AuthResponse(token, user.getUsername(), user.getRole().name()));
+                }, taskExecutor)
+                .exceptionally(error -> failure(error, null));
     }
     
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody LoginRequest request) {
+        User user;
         try {
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-            );
-            
-            User user = userService.findByUsername(request.getUsername()).orElse(null);
-            if (user == null) {
-                return ResponseEntity.badRequest().body("User not found");
-            }
-            
-            String token = jwtUtil.generateToken(user.getUsername(), user.getRole().name());
-            
-            return ResponseEntity.ok(new AuthResponse(token, user.getUsername(), user.getRole().name()));
+            user = userService.findCredentials(request.getUsername()).orElse(null);
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body("Invalid credentials");
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("Invalid credentials"));
+        }
+        
+        // Unknown users are still hashed against a dummy so they cannot be told apart by timing. The rehash
+        // and token run on the task executor so hashing threads only ever hash
+        return passwordHashingService.matches(request.getPassword(), user == null ? null : user.getPassword())
+                .<ResponseEntity<?>>thenApplyAsync(matches -> {
+                    if (!matches || !user.getActive()) {
+                        return ResponseEntity.badRequest().body("Invalid credentials");
+                    }
+                    
+                    if (passwordHashingService.needsRehash(user.getPassword())) {
+                        userService.upgradePasswordHash(user, request.getPassword());
+                    }
+                    
+                    String token = jwtUtil.generateToken(user.getId(), user.getUsername(), user.getRole().name());
+                    return ResponseEntity.ok(new AuthResponse(token, user.getUsername(), user.getRole().name()));
+                }, taskExecutor)
+                .exceptionally(error -> failure(error, "Invalid credentials"));
+    }
+    
+    // A full hashing queue is reported as 503 so clients back off; anything else keeps the old 400 answers
+    private ResponseEntity<?> failure(Throwable error, String message) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof RejectedExecutionException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(passwordHashingService.getRetryAfter().toSeconds()))
+                    .body("Server is busy, please try again shortly");
         }
+        return ResponseEntity.badRequest().body(message != null ? message : cause.getMessage());
     }
-}
\ No newline at end of file
+}
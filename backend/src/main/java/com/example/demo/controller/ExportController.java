@@ -0,0 +1,94 @@
+package com.example.demo.controller;
+
+import com.example.demo.service.ExportService;
+import com.example.demo.service.RecordFormat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+// Admin-only downloads (everything under /api/admin requires the ADMIN role). Responses are written
+// from the database cursor as they are read, on an async thread, and gzip-compressed when the client
+// accepts it.
+@RestController
+@RequestMapping("/api/admin/export")
+@CrossOrigin(origins = "*")
+public class ExportController {
+    
+    @Autowired
+    private ExportService exportService;
+    
+    private interface Export {
+        void writeTo(OutputStream out, RecordFormat format) throws IOException;
+    }
+    
+    @GetMapping("/tournaments")
+    public ResponseEntity<StreamingResponseBody> exportTournaments(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return stream("tournaments", format, acceptEncoding, exportService::exportTournaments);
+    }
+    
+    @GetMapping("/teams")
+    public ResponseEntity<StreamingResponseBody> exportTeams(
+            @RequestParam(required = false) Long tournamentId,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return stream("teams", format, acceptEncoding,
+                (out, recordFormat) -> exportService.exportTeams(tournamentId, out, recordFormat));
+    }
+    
+    @GetMapping("/group-assignments")
+    public ResponseEntity<StreamingResponseBody> exportGroupAssignments(
+            @RequestParam(required = false) Long tournamentId,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return stream("group-assignments", format, acceptEncoding,
+                (out, recordFormat) -> exportService.exportGroupAssignments(tournamentId, out, recordFormat));
+    }
+    
+    private ResponseEntity<StreamingResponseBody> stream(String name, String format, String acceptEncoding, Export export) {
+        RecordFormat recordFormat;
+        try {
+            recordFormat = RecordFormat.fromName(format);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 16 * 1024);
+                export.writeTo(compressed, recordFormat);
+                compressed.finish();
+            } else {
+                export.writeTo(out, recordFormat);
+            }
+        };
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(new MediaType(recordFormat.getMediaType(), StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(name + "." + recordFormat.getExtension())
+                        .build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+}
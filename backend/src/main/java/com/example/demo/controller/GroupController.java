@@ -2,19 +2,21 @@ package com.example.demo.controller;
 
 import com.example.demo.dto.AssignTeamsToGroupRequest;
 import com.example.demo.dto.GroupDTO;
-import com.example.demo.entity.Group;
+import com.example.demo.dto.TournamentVersion;
 import com.example.demo.entity.User;
 import com.example.demo.service.GroupService;
 import com.example.demo.service.UserService;
-import com.example.demo.service.DTOConversionService;
+import com.example.demo.service.ReadModelService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/groups")
@@ -28,21 +30,23 @@ public class GroupController {
     private UserService userService;
     
     @Autowired
-    private DTOConversionService dtoConversionService;
+    private ReadModelService readModelService;
     
     private User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return userService.findByUsername(authentication.getName()).orElse(null);
+        return userService.getCurrentUser(authentication);
     }
     
     @GetMapping("/tournament/{tournamentId}")
-    public ResponseEntity<List<GroupDTO>> getGroupsByTournament(@PathVariable Long tournamentId) {
+    public ResponseEntity<List<GroupDTO>> getGroupsByTournament(@PathVariable Long tournamentId, WebRequest webRequest) {
         try {
-            List<Group> groups = groupService.getGroupsByTournamentId(tournamentId);
-            List<GroupDTO> groupDTOs = groups.stream()
-                .map(dtoConversionService::convertToGroupDTO)
-                .collect(Collectors.toList());
-            return ResponseEntity.ok(groupDTOs);
+            // Revalidated against the tournament's version, as in TournamentController.getTournament
+            TournamentVersion version = readModelService.getTournamentVersion(tournamentId);
+            if (version != null && webRequest.checkNotModified(version.eTag("groups"), version.lastModifiedMillis())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
+            List<GroupDTO> groupDTOs = readModelService.getGroupsByTournament(tournamentId, version);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(groupDTOs);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -56,10 +60,8 @@ public class GroupController {
                 return ResponseEntity.badRequest().body("User not found");
             }
             
-            List<Group> groups = groupService.assignTeamsToGroupsRandomly(request, currentUser);
-            List<GroupDTO> groupDTOs = groups.stream()
-                .map(dtoConversionService::convertToGroupDTO)
-                .collect(Collectors.toList());
+            groupService.assignTeamsToGroupsRandomly(request, currentUser);
+            List<GroupDTO> groupDTOs = readModelService.getGroupsByTournament(request.getTournamentId());
             return ResponseEntity.ok(groupDTOs);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
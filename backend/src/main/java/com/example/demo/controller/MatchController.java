@@ -0,0 +1,217 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.KnockoutMatchDTO;
+import com.example.demo.dto.MatchDTO;
+import com.example.demo.dto.MatchResultRequest;
+import com.example.demo.dto.StandingDTO;
+import com.example.demo.entity.User;
+import com.example.demo.service.KnockoutService;
+import com.example.demo.service.MatchService;
+import com.example.demo.service.StandingsService;
+import com.example.demo.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/matches")
+@CrossOrigin(origins = "*")
+public class MatchController {
+    
+    @Autowired
+    private MatchService matchService;
+    
+    @Autowired
+    private StandingsService standingsService;
+    
+    @Autowired
+    private KnockoutService knockoutService;
+    
+    @Autowired
+    private UserService userService;
+    
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return userService.getCurrentUser(authentication);
+    }
+    
+    @GetMapping("/tournament/{tournamentId}")
+    public ResponseEntity<List<MatchDTO>> getMatchesByTournament(@PathVariable Long tournamentId) {
+        try {
+            return ResponseEntity.ok(matchService.getMatchesByTournament(tournamentId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @PostMapping("/tournament/{tournamentId}/generate")
+    public ResponseEntity<?> generateFixtures(@PathVariable Long tournamentId) {
+        try {
+            User currentUser = getCurrentUser();
+            if (currentUser == null) {
+                return ResponseEntity.badRequest().body("User not found");
+            }
+            
+            int matches = matchService.generateFixtures(tournamentId, currentUser);
+            return ResponseEntity.ok(Map.of("tournamentId", tournamentId, "matchCount", matches));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    @DeleteMapping("/tournament/{tournamentId}")
+    public ResponseEntity<?> deleteFixtures(@PathVariable Long tournamentId) {
+        try {
+            User currentUser = getCurrentUser();
+            if (currentUser == null) {
+                return ResponseEntity.badRequest().body("User not found");
+            }
+            
+            matchService.deleteFixtures(tournamentId, currentUser);
+            return ResponseEntity.ok().build();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    // Records or corrects the result of a match
+    @PutMapping("/{id}/result")
+    public ResponseEntity<?> recordResult(@PathVariable Long id, @RequestBody MatchResultRequest request) {
+        try {
+            User currentUser = getCurrentUser();
+            if (currentUser == null) {
+                return ResponseEntity.badRequest().body("User not found");
+            }
+            
+            standingsService.recordResult(id, request, currentUser);
+            return ResponseEntity.ok().build();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    @DeleteMapping("/{id}/result")
+    public ResponseEntity<?> clearResult(@PathVariable Long id) {
+        try {
+            User currentUser = getCurrentUser();
+            if (currentUser == null) {
+                return ResponseEntity.badRequest().body("User not found");
+            }
+            
+            standingsService.clearResult(id, currentUser);
+            return ResponseEntity.ok().build();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    @GetMapping("/tournament/{tournamentId}/standings")
+    public ResponseEntity<List<StandingDTO>> getStandingsByTournament(@PathVariable Long tournamentId) {
+        try {
+            return ResponseEntity.ok(standingsService.getStandingsByTournament(tournamentId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping("/group/{groupId}/standings")
+    public ResponseEntity<List<StandingDTO>> getStandingsByGroup(@PathVariable Long groupId) {
+        try {
+            return ResponseEntity.ok(standingsService.getStandingsByGroup(groupId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @PostMapping("/tournament/{tournamentId}/standings/rebuild")
+    public ResponseEntity<?> rebuildStandings(@PathVariable Long tournamentId) {
+        try {
+            User currentUser = getCurrentUser();
+            if (currentUser == null) {
+                return ResponseEntity.badRequest().body("User not found");
+            }
+            
+            standingsService.rebuildStandings(tournamentId, currentUser);
+            return ResponseEntity.ok().build();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    // The whole bracket in heap order: the final is slot 1 and slots 2s and 2s + 1 feed slot s
+    @GetMapping("/tournament/{tournamentId}/knockout")
+    public ResponseEntity<List<KnockoutMatchDTO>> getBracket(@PathVariable Long tournamentId) {
+        try {
+            return ResponseEntity.ok(knockoutService.getBracket(tournamentId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @PostMapping("/tournament/{tournamentId}/knockout")
+    public ResponseEntity<?> generateBracket(@PathVariable Long tournamentId,
+                                             @RequestParam(required = false) Integer qualifiersPerGroup) {
+        try {
+            User currentUser = getCurrentUser();
+            if (currentUser == null) {
+                return ResponseEntity.badRequest().body("User not found");
+            }
+            
+            int bracketSize = knockoutService.generateBracket(tournamentId, qualifiersPerGroup, currentUser);
+            return ResponseEntity.ok(Map.of("tournamentId", tournamentId, "bracketSize", bracketSize));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    @DeleteMapping("/tournament/{tournamentId}/knockout")
+    public ResponseEntity<?> deleteBracket(@PathVariable Long tournamentId) {
+        try {
+            User currentUser = getCurrentUser();
+            if (currentUser == null) {
+                return ResponseEntity.badRequest().body("User not found");
+            }
+            
+            knockoutService.deleteBracket(tournamentId, currentUser);
+            return ResponseEntity.ok().build();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    // Records or corrects a knockout result; the winner moves on to the next round
+    @PutMapping("/knockout/{id}/result")
+    public ResponseEntity<?> recordKnockoutResult(@PathVariable Long id, @RequestBody MatchResultRequest request) {
+        try {
+            User currentUser = getCurrentUser();
+            if (currentUser == null) {
+                return ResponseEntity.badRequest().body("User not found");
+            }
+            
+            knockoutService.recordResult(id, request, currentUser);
+            return ResponseEntity.ok().build();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    @DeleteMapping("/knockout/{id}/result")
+    public ResponseEntity<?> clearKnockoutResult(@PathVariable Long id) {
+        try {
+            User currentUser = getCurrentUser();
+            if (currentUser == null) {
+                return ResponseEntity.badRequest().body("User not found");
+            }
+            
+            knockoutService.clearResult(id, currentUser);
+            return ResponseEntity.ok().build();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.demo.controller;
+
+import com.example.demo.service.SearchIndexService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "*")
+public class SearchController {
+    
+    @Autowired
+    private SearchIndexService searchIndexService;
+    
+    // Served from the in-memory index; meant to be called as the user types
+    @GetMapping
+    public ResponseEntity<?> search(@RequestParam String q,
+                                    @RequestParam(required = false) String type,
+                                    @RequestParam(required = false) Integer limit) {
+        try {
+            SearchIndexService.Kind kind = type == null ? null : SearchIndexService.Kind.valueOf(type.toUpperCase());
+            return ResponseEntity.ok(searchIndexService.search(q, kind, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -2,19 +2,35 @@ package com.example.demo.controller;
 
 import com.example.demo.dto.TeamRequest;
 import com.example.demo.dto.TeamDTO;
+import com.example.demo.dto.TeamImportReport;
+import com.example.demo.dto.TeamPageDTO;
+import com.example.demo.dto.TeamSearchCriteria;
+import com.example.demo.dto.TournamentVersion;
 import com.example.demo.entity.Team;
 import com.example.demo.entity.User;
+import com.example.demo.service.TeamImportService;
 import com.example.demo.service.TeamService;
 import com.example.demo.service.UserService;
-import com.example.demo.service.DTOConversionService;
+import com.example.demo.service.ReadModelService;
+import com.example.demo.service.RecordFormat;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/teams")
@@ -28,30 +44,46 @@ public class TeamController {
     private UserService userService;
     
     @Autowired
-    private DTOConversionService dtoConversionService;
+    private ReadModelService readModelService;
+    
+    @Autowired
+    private TeamImportService teamImportService;
     
     private User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return userService.findByUsername(authentication.getName()).orElse(null);
+        return userService.getCurrentUser(authentication);
     }
     
     @GetMapping
-    public ResponseEntity<List<TeamDTO>> getAllTeams() {
-        List<Team> teams = teamService.getAllTeams();
-        List<TeamDTO> teamDTOs = teams.stream()
-            .map(dtoConversionService::convertToTeamDTO)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(teamDTOs);
+    public ResponseEntity<?> searchTeams(@RequestParam(required = false) Long tournamentId,
+                                         @RequestParam(required = false) Long groupId,
+                                         @RequestParam(defaultValue = "false") boolean unassigned,
+                                         @RequestParam(required = false) String createdBy,
+                                         @RequestParam(required = false) String namePrefix,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer size) {
+        try {
+            TeamSearchCriteria criteria = new TeamSearchCriteria(tournamentId, groupId, unassigned, createdBy,
+                    namePrefix, createdFrom, createdTo);
+            TeamPageDTO page = readModelService.searchTeams(criteria, cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
     
     @GetMapping("/tournament/{tournamentId}")
-    public ResponseEntity<List<TeamDTO>> getTeamsByTournament(@PathVariable Long tournamentId) {
+    public ResponseEntity<List<TeamDTO>> getTeamsByTournament(@PathVariable Long tournamentId, WebRequest webRequest) {
         try {
-            List<Team> teams = teamService.getTeamsByTournament(tournamentId);
-            List<TeamDTO> teamDTOs = teams.stream()
-                .map(dtoConversionService::convertToTeamDTO)
-                .collect(Collectors.toList());
-            return ResponseEntity.ok(teamDTOs);
+            // Revalidated against the tournament's version, as in TournamentController.getTournament
+            TournamentVersion version = readModelService.getTournamentVersion(tournamentId);
+            if (version != null && webRequest.checkNotModified(version.eTag("teams"), version.lastModifiedMillis())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
+            List<TeamDTO> teamDTOs = readModelService.getTeamsByTournament(tournamentId, version);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(teamDTOs);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -64,18 +96,14 @@ public class TeamController {
             return ResponseEntity.badRequest().build();
         }
         
-        List<Team> teams = teamService.getTeamsByUser(currentUser);
-        List<TeamDTO> teamDTOs = teams.stream()
-            .map(dtoConversionService::convertToTeamDTO)
-            .collect(Collectors.toList());
+        List<TeamDTO> teamDTOs = readModelService.getTeamsByCreator(currentUser.getId());
         return ResponseEntity.ok(teamDTOs);
     }
     
     @GetMapping("/{id}")
     public ResponseEntity<TeamDTO> getTeam(@PathVariable Long id) {
         try {
-            Team team = teamService.getTeamById(id);
-            TeamDTO teamDTO = dtoConversionService.convertToTeamDTO(team);
+            TeamDTO teamDTO = readModelService.getTeam(id);
             return ResponseEntity.ok(teamDTO);
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
@@ -96,13 +124,39 @@ public class TeamController {
             }
             
             Team team = teamService.createTeam(request, currentUser);
-            TeamDTO teamDTO = dtoConversionService.convertToTeamDTO(team);
+            TeamDTO teamDTO = readModelService.getTeam(team.getId());
             return ResponseEntity.ok(teamDTO);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
     
+    // Bulk registration from a text/csv or application/x-ndjson body, read as a stream; see TeamImportService
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<?> importTeams(@RequestParam Long tournamentId, HttpServletRequest request) {
+        try {
+            User currentUser = getCurrentUser();
+            if (currentUser == null) {
+                return ResponseEntity.badRequest().body("User not found");
+            }
+            
+            // Only regular users can create teams, not admins
+            if (currentUser.getRole().equals(User.Role.ADMIN)) {
+                return ResponseEntity.status(403).body("Administrators cannot create teams. Only regular users can create teams.");
+            }
+            
+            RecordFormat format = RecordFormat.fromMediaType(MediaType.parseMediaType(request.getContentType()));
+            Charset charset = request.getCharacterEncoding() != null
+                    ? Charset.forName(request.getCharacterEncoding()) : StandardCharsets.UTF_8;
+            try (Reader reader = new InputStreamReader(request.getInputStream(), charset)) {
+                TeamImportReport report = teamImportService.importTeams(tournamentId, reader, format, currentUser);
+                return ResponseEntity.ok(report);
+            }
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
     @PutMapping("/{id}")
     public ResponseEntity<?> updateTeam(@PathVariable Long id, @RequestBody TeamRequest request) {
         try {
@@ -112,7 +166,7 @@ public class TeamController {
             }
             
             Team team = teamService.updateTeam(id, request, currentUser);
-            TeamDTO teamDTO = dtoConversionService.convertToTeamDTO(team);
+            TeamDTO teamDTO = readModelService.getTeam(team.getId());
             return ResponseEntity.ok(teamDTO);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -2,19 +2,26 @@ package com.example.demo.controller;
 
 import com.example.demo.dto.TournamentRequest;
 import com.example.demo.dto.TournamentDTO;
+import com.example.demo.dto.TournamentPageDTO;
+import com.example.demo.dto.TournamentVersion;
 import com.example.demo.entity.Tournament;
 import com.example.demo.entity.User;
 import com.example.demo.service.TournamentService;
 import com.example.demo.service.UserService;
-import com.example.demo.service.DTOConversionService;
+import com.example.demo.service.ReadModelService;
+import com.example.demo.service.TournamentEventService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/tournaments")
@@ -28,28 +35,59 @@ public class TournamentController {
     private UserService userService;
     
     @Autowired
-    private DTOConversionService dtoConversionService;
+    private ReadModelService readModelService;
+    
+    @Autowired
+    private TournamentEventService tournamentEventService;
     
     private User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return userService.findByUsername(authentication.getName()).orElse(null);
+        return userService.getCurrentUser(authentication);
     }
     
     @GetMapping
     public ResponseEntity<List<TournamentDTO>> getAllTournaments() {
-        List<Tournament> tournaments = tournamentService.getAllTournaments();
-        List<TournamentDTO> tournamentDTOs = tournaments.stream()
-            .map(dtoConversionService::convertToTournamentDTO)
-            .collect(Collectors.toList());
+        List<TournamentDTO> tournamentDTOs = readModelService.getAllTournaments();
         return ResponseEntity.ok(tournamentDTOs);
     }
     
+    @GetMapping("/page")
+    public ResponseEntity<?> getTournamentPage(@RequestParam(required = false) String cursor,
+                                               @RequestParam(required = false) Integer size,
+                                               @RequestParam(required = false) String status) {
+        try {
+            Tournament.Status tournamentStatus = status == null ? null : Tournament.Status.valueOf(status);
+            TournamentPageDTO page = readModelService.getTournamentPage(cursor, size, tournamentStatus);
+            return ResponseEntity.ok(page);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
     @GetMapping("/{id}")
-    public ResponseEntity<TournamentDTO> getTournament(@PathVariable Long id) {
+    public ResponseEntity<TournamentDTO> getTournament(@PathVariable Long id, WebRequest webRequest) {
         try {
-            Tournament tournament = tournamentService.getTournamentById(id);
-            TournamentDTO tournamentDTO = dtoConversionService.convertToTournamentDTO(tournament);
-            return ResponseEntity.ok(tournamentDTO);
+            // Answer revalidations from the version stamp alone; it is read before the data so the
+            // body is never older than the tag sent with it
+            TournamentVersion version = readModelService.getTournamentVersion(id);
+            if (version != null && webRequest.checkNotModified(version.eTag("tournament"), version.lastModifiedMillis())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
+            TournamentDTO tournamentDTO = readModelService.getTournament(id, version);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(tournamentDTO);
+        } catch (Exception e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    // Live feed of changes to one tournament; EventSource clients resume with the Last-Event-ID header
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> streamTournamentEvents(@PathVariable Long id,
+                                                    @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        try {
+            SseEmitter emitter = tournamentEventService.subscribe(id, lastEventId);
+            // Stop reverse proxies from buffering the stream
+            return ResponseEntity.ok().header("X-Accel-Buffering", "no").body(emitter);
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
         }
@@ -69,7 +107,7 @@ public class TournamentController {
             }
             
             Tournament tournament = tournamentService.createTournament(request, currentUser);
-            TournamentDTO tournamentDTO = dtoConversionService.convertToTournamentDTO(tournament);
+            TournamentDTO tournamentDTO = readModelService.getTournament(tournament.getId());
             return ResponseEntity.ok(tournamentDTO);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -90,7 +128,7 @@ public class TournamentController {
             }
             
             Tournament tournament = tournamentService.updateTournament(id, request, currentUser);
-            TournamentDTO tournamentDTO = dtoConversionService.convertToTournamentDTO(tournament);
+            TournamentDTO tournamentDTO = readModelService.getTournament(tournament.getId());
             return ResponseEntity.ok(tournamentDTO);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -112,7 +150,7 @@ public class TournamentController {
             
             Tournament.Status tournamentStatus = Tournament.Status.valueOf(status.replace("\"", ""));
             Tournament tournament = tournamentService.updateTournamentStatus(id, tournamentStatus, currentUser);
-            TournamentDTO tournamentDTO = dtoConversionService.convertToTournamentDTO(tournament);
+            TournamentDTO tournamentDTO = readModelService.getTournament(tournament.getId());
             return ResponseEntity.ok(tournamentDTO);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -4,10 +4,23 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import java.util.List;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class AssignTeamsToGroupRequest {
     private Long tournamentId;
     private int numberOfGroups;
+    // Optional; the same seed and pots reproduce the same draw. A random seed is chosen when absent
+    private Long seed;
+    // Optional seeding pots of team ids, strongest first; teams not listed form a final pot
+    private List<List<Long>> pots;
+    // Keep teams registered by the same user in different groups whenever possible
+    private boolean separateCreators = true;
+    
+    public AssignTeamsToGroupRequest(Long tournamentId, int numberOfGroups) {
+        this.tournamentId = tournamentId;
+        this.numberOfGroups = numberOfGroups;
+    }
 }
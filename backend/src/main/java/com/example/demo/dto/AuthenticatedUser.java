@@ -0,0 +1,21 @@
+package com.example.demo.dto;
+
+import com.example.demo.entity.User;
+import lombok.Data;
+import lombok.AllArgsConstructor;
+
+import java.security.Principal;
+
+// Security principal rebuilt from verified JWT claims, so authenticated requests need no users lookup
+@Data
+@AllArgsConstructor
+public class AuthenticatedUser implements Principal {
+    private Long id;
+    private String username;
+    private User.Role role;
+    
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.demo.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardStatsDTO {
+    private Long totalTournaments;
+    private Map<String, Long> tournamentsByStatus;
+    private Long totalTeams;
+    private Long totalCapacity;
+    private Double fillRatio;
+    private List<Long> readyForDraw;
+    private List<TournamentFillDTO> tournaments;
+    private List<HourlyRegistrationsDTO> registrationsPerHour;
+    private LocalDateTime generatedAt;
+}
@@ -0,0 +1,19 @@
+package com.example.demo.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Flat row selected with a JPQL constructor expression; see GroupRepository.GROUP_PROJECTION
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupProjection {
+    private Long id;
+    private String name;
+    private Long tournamentId;
+    private String tournamentName;
+    private LocalDateTime createdAt;
+}
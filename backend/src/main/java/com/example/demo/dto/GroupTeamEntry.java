@@ -0,0 +1,14 @@
+package com.example.demo.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+// A drawn team and its group; see TeamRepository.findGroupTeamEntriesByTournamentId
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupTeamEntry {
+    private Long teamId;
+    private Long groupId;
+}
@@ -0,0 +1,15 @@
+package com.example.demo.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HourlyRegistrationsDTO {
+    private LocalDateTime hourStart;
+    private Long registrations;
+}
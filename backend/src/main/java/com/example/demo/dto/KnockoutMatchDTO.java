@@ -0,0 +1,23 @@
+package com.example.demo.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+// Flat row selected with a JPQL constructor expression; see KnockoutMatchRepository.KNOCKOUT_PROJECTION.
+// Slot s is fed by slots 2s and 2s + 1; the final is slot 1
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KnockoutMatchDTO {
+    private Long id;
+    private Integer slot;
+    private Integer round;
+    private Long homeTeamId;
+    private String homeTeamName;
+    private Long awayTeamId;
+    private String awayTeamName;
+    private Integer homeScore;
+    private Integer awayScore;
+    private Long winnerTeamId;
+}
@@ -0,0 +1,22 @@
+package com.example.demo.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+// Flat row selected with a JPQL constructor expression; see MatchRepository.MATCH_PROJECTION
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchDTO {
+    private Long id;
+    private Long groupId;
+    private String groupName;
+    private Integer round;
+    private Long homeTeamId;
+    private String homeTeamName;
+    private Long awayTeamId;
+    private String awayTeamName;
+    private Integer homeScore;
+    private Integer awayScore;
+}
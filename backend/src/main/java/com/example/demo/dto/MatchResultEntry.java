@@ -0,0 +1,17 @@
+package com.example.demo.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+// A played match as standings need it; see MatchRepository.findResultsByGroupId
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchResultEntry {
+    private Long groupId;
+    private Long homeTeamId;
+    private Long awayTeamId;
+    private Integer homeScore;
+    private Integer awayScore;
+}
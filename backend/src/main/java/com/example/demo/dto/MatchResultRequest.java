@@ -0,0 +1,13 @@
+package com.example.demo.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchResultRequest {
+    private Integer homeScore;
+    private Integer awayScore;
+}
@@ -0,0 +1,20 @@
+package com.example.demo.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+// Text of one tournament or team as indexed by SearchIndexService; teams have no description
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchDocument {
+    private Long id;
+    private Long tournamentId;
+    private String name;
+    private String description;
+    
+    public SearchDocument(Long id, Long tournamentId, String name) {
+        this(id, tournamentId, name, null);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.demo.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultDTO {
+    // TOURNAMENT or TEAM
+    private String type;
+    private Long id;
+    private Long tournamentId;
+    private String name;
+    // Higher is a better match; only comparable within one result list
+    private double score;
+}
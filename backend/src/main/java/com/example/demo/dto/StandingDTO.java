@@ -0,0 +1,25 @@
+package com.example.demo.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+// Flat row selected with a JPQL constructor expression; see GroupStandingRepository.STANDING_PROJECTION
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StandingDTO {
+    private Long groupId;
+    private String groupName;
+    private Integer position;
+    private Long teamId;
+    private String teamName;
+    private Integer played;
+    private Integer won;
+    private Integer drawn;
+    private Integer lost;
+    private Integer goalsFor;
+    private Integer goalsAgainst;
+    private Integer goalDifference;
+    private Integer points;
+}
@@ -0,0 +1,14 @@
+package com.example.demo.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+// The two columns the group draw needs per team; see TeamRepository.findDrawEntriesByTournamentId
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamDrawEntry {
+    private Long teamId;
+    private Long creatorId;
+}
@@ -0,0 +1,21 @@
+package com.example.demo.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Counts cover every row; rows holds the per-row results up to the configured limit
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamImportReport {
+    private Long tournamentId;
+    private long totalRows;
+    private long imported;
+    private long rejected;
+    private boolean truncated;
+    private List<TeamImportRowResult> rows = new ArrayList<>();
+}
@@ -0,0 +1,18 @@
+package com.example.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TeamImportRowResult {
+    private Long line;
+    private String name;
+    private Boolean imported;
+    private Long teamId;
+    private String error;
+}
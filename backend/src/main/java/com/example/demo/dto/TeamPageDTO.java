@@ -0,0 +1,17 @@
+package com.example.demo.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamPageDTO {
+    private List<TeamDTO> teams;
+    private int size;
+    // Opaque token for the next page, null when this is the last page
+    private String nextCursor;
+}
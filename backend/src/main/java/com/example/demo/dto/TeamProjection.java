@@ -0,0 +1,22 @@
+package com.example.demo.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Flat row selected with a JPQL constructor expression; see TeamRepository.TEAM_PROJECTION
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamProjection {
+    private Long id;
+    private String name;
+    private String description;
+    private String createdBy;
+    private LocalDateTime createdAt;
+    private Long tournamentId;
+    private Long groupId;
+    private String groupName;
+}
@@ -0,0 +1,25 @@
+package com.example.demo.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Optional filters of the team search; null fields are ignored
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamSearchCriteria {
+    private Long tournamentId;
+    private Long groupId;
+    // Only teams not drawn into any group; cannot be combined with groupId
+    private boolean unassigned;
+    // Username of the creator
+    private String createdBy;
+    // Matched against the normalized name, so case and extra whitespace are ignored
+    private String namePrefix;
+    // Inclusive lower and exclusive upper bound
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdTo;
+}
@@ -21,4 +21,5 @@ public class TournamentDTO {
     private String createdBy;
     private List<TeamDTO> teams;
     private LocalDateTime createdAt;
+    private Long drawSeed;
 }
\ No newline at end of file
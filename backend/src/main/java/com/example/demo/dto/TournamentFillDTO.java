@@ -0,0 +1,19 @@
+package com.example.demo.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TournamentFillDTO {
+    private Long id;
+    private String name;
+    private String status;
+    private Integer teamCount;
+    private Integer maxTeams;
+    private Double fillRatio;
+    private Boolean groupsDrawn;
+    private Boolean readyForDraw;
+}
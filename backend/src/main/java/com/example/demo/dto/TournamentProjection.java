@@ -0,0 +1,25 @@
+package com.example.demo.dto;
+
+import com.example.demo.entity.Tournament;
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Flat row selected with a JPQL constructor expression; see TournamentRepository.TOURNAMENT_PROJECTION
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TournamentProjection {
+    private Long id;
+    private String name;
+    private String description;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private Integer maxTeams;
+    private Tournament.Status status;
+    private String createdBy;
+    private LocalDateTime createdAt;
+    private Long drawSeed;
+}
@@ -0,0 +1,19 @@
+package com.example.demo.dto;
+
+import com.example.demo.entity.Tournament;
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+// One tournament's dashboard counters as stored; see TournamentRepository.findStatsRows
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TournamentStatsRow {
+    private Long id;
+    private String name;
+    private Tournament.Status status;
+    private Integer teamCount;
+    private Integer maxTeams;
+    private Boolean groupsDrawn;
+}
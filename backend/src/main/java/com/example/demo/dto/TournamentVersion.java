@@ -0,0 +1,27 @@
+package com.example.demo.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// Cheap freshness stamp of everything shown for one tournament; see TournamentRepository.findVersionById
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TournamentVersion {
+    private Long tournamentId;
+    private Long contentVersion;
+    private LocalDateTime lastModified;
+    
+    // Strong validator; the resource name keeps the tags of different views of one tournament apart
+    public String eTag(String resource) {
+        return "\"" + resource + "-" + tournamentId + "-" + contentVersion + "\"";
+    }
+    
+    public long lastModifiedMillis() {
+        return lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+// A team's line in its group table, kept up to date as results are recorded (see StandingsService), so
+// reading standings never aggregates matches
+@Entity
+@Table(name = "group_standings", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_group_standings_group_team", columnNames = {"group_id", "team_id"})
+}, indexes = {
+    @Index(name = "idx_group_standings_tournament_group_position", columnList = "tournament_id, group_id, position")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupStanding {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tournament_id", nullable = false)
+    @JsonIgnore
+    private Tournament tournament;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "group_id", nullable = false)
+    @JsonIgnore
+    private Group group;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "team_id", nullable = false)
+    @JsonIgnore
+    private Team team;
+    
+    @Column(nullable = false)
+    private Integer played = 0;
+    
+    @Column(nullable = false)
+    private Integer won = 0;
+    
+    @Column(nullable = false)
+    private Integer drawn = 0;
+    
+    @Column(nullable = false)
+    private Integer lost = 0;
+    
+    @Column(nullable = false)
+    private Integer goalsFor = 0;
+    
+    @Column(nullable = false)
+    private Integer goalsAgainst = 0;
+    
+    @Column(nullable = false)
+    private Integer points = 0;
+    
+    // 1-based rank within the group
+    @Column(nullable = false)
+    private Integer position;
+}
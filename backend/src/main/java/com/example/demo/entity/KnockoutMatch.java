@@ -0,0 +1,66 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+
+// One match of a tournament's knockout bracket. The bracket is an implicit binary heap: the final is slot 1
+// and the winners of slots 2s and 2s + 1 meet in slot s, so the whole tree is the tournament's rows ordered
+// by slot and needs no links between matches. Every slot is created with the bracket; later-round teams
+// are filled in as winners advance.
+@Entity
+@Table(name = "knockout_matches", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_knockout_matches_tournament_slot", columnNames = {"tournament_id", "slot"})
+}, indexes = {
+    @Index(name = "idx_knockout_matches_home_team", columnList = "home_team_id"),
+    @Index(name = "idx_knockout_matches_away_team", columnList = "away_team_id"),
+    @Index(name = "idx_knockout_matches_winner", columnList = "winner_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KnockoutMatch {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tournament_id", nullable = false)
+    @JsonIgnore
+    private Tournament tournament;
+    
+    @Column(nullable = false)
+    private Integer slot;
+    
+    // 1 is the first round; the final is round log2(bracket size)
+    @Column(name = "round_number", nullable = false)
+    private Integer round;
+    
+    // Null while the feeding match is undecided, or for good when the slot is a first-round bye
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "home_team_id")
+    @JsonIgnore
+    private Team homeTeam;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "away_team_id")
+    @JsonIgnore
+    private Team awayTeam;
+    
+    private Integer homeScore;
+    
+    private Integer awayScore;
+    
+    // Set by a result, or straight away when the opponent is a bye
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "winner_id")
+    @JsonIgnore
+    private Team winner;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
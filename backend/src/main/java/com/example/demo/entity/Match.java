@@ -0,0 +1,57 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+
+// One group-stage fixture. Written in bulk by MatchBulkRepository, so there are no collections mapping back to it
+@Entity
+@Table(name = "matches", indexes = {
+    @Index(name = "idx_matches_tournament_group_round", columnList = "tournament_id, group_id, round_number"),
+    @Index(name = "idx_matches_home_team", columnList = "home_team_id"),
+    @Index(name = "idx_matches_away_team", columnList = "away_team_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Match {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tournament_id", nullable = false)
+    @JsonIgnore
+    private Tournament tournament;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "group_id", nullable = false)
+    @JsonIgnore
+    private Group group;
+    
+    // 1-based; every team of the group plays at most once per round
+    @Column(name = "round_number", nullable = false)
+    private Integer round;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "home_team_id", nullable = false)
+    @JsonIgnore
+    private Team homeTeam;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "away_team_id", nullable = false)
+    @JsonIgnore
+    private Team awayTeam;
+    
+    // Both null until a result is recorded
+    private Integer homeScore;
+    
+    private Integer awayScore;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -0,0 +1,22 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Team registrations per clock hour; written in batches by DashboardStatsService, never per registration
+@Entity
+@Table(name = "registration_hourly_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistrationHourlyStats {
+    @Id
+    private LocalDateTime hourStart;
+    
+    @Column(nullable = false)
+    private Long registrations = 0L;
+}
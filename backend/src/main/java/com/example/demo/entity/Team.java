@@ -7,14 +7,29 @@ import lombok.AllArgsConstructor;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import java.text.Normalizer;
 import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.regex.Pattern;
 
 @Entity
-@Table(name = "teams")
+@Table(name = "teams", uniqueConstraints = {
+    @UniqueConstraint(name = Team.UNIQUE_NAME_CONSTRAINT, columnNames = {"tournament_id", "normalized_name"})
+}, indexes = {
+    // Team search: each filter leads an index that already returns rows in (created_at, id) page order
+    @Index(name = "idx_teams_tournament_created_at_id", columnList = "tournament_id, created_at, id"),
+    @Index(name = "idx_teams_group_created_at_id", columnList = "group_id, created_at, id"),
+    @Index(name = "idx_teams_created_by_created_at_id", columnList = "created_by, created_at, id"),
+    @Index(name = "idx_teams_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_teams_normalized_name", columnList = "normalized_name")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Team {
+    public static final String UNIQUE_NAME_CONSTRAINT = "uk_teams_tournament_normalized_name";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -22,6 +37,11 @@ public class Team {
     @Column(nullable = false)
     private String name;
     
+    // Lookup key for the per-tournament uniqueness rule; derived from name on every write
+    @Column(name = "normalized_name")
+    @JsonIgnore
+    private String normalizedName;
+    
     @Column(columnDefinition = "TEXT")
     private String description;
     
@@ -42,4 +62,19 @@ public class Team {
     
     @Column(nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
+    
+    @PrePersist
+    @PreUpdate
+    void updateNormalizedName() {
+        normalizedName = normalizeName(name);
+    }
+    
+    // "  Red   Dragons " and "red dragons" count as the same team name
+    public static String normalizeName(String name) {
+        if (name == null) {
+            return null;
+        }
+        String normalized = Normalizer.normalize(name, Normalizer.Form.NFKC);
+        return WHITESPACE.matcher(normalized.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
 }
\ No newline at end of file
@@ -12,7 +12,10 @@ import java.util.List;
 import java.util.ArrayList;
 
 @Entity
-@Table(name = "tournaments")
+@Table(name = "tournaments", indexes = {
+    @Index(name = "idx_tournaments_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_tournaments_status_created_at_id", columnList = "status, created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -36,6 +39,10 @@ public class Tournament {
     @Column(nullable = false)
     private Integer maxTeams = 16;
     
+    // Registered teams; only changed through TournamentRepository.reserveTeamSlot/releaseTeamSlot
+    @Column(nullable = false, updatable = false)
+    private Integer teamCount = 0;
+    
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private Status status = Status.UPCOMING;
@@ -56,6 +63,17 @@ public class Tournament {
     @Column(nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
     
+    // Bumped with lastModified whenever the tournament, its teams or its groups change; drives ETags.
+    // Only changed through TournamentRepository.bumpContentVersion
+    @Column(nullable = false, updatable = false)
+    private Long contentVersion = 0L;
+    
+    @Column(updatable = false)
+    private LocalDateTime lastModified;
+    
+    // Seed of the last group draw, so the draw can be reproduced and audited
+    private Long drawSeed;
+    
     public enum Status {
         UPCOMING, ONGOING, COMPLETED, CANCELLED
     }
@@ -0,0 +1,139 @@
+package com.example.demo.event;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Published by the services inside their transaction whenever a tournament, its teams or its groups change.
+// Listeners decide whether to act before or after commit. Also the payload pushed to live subscribers,
+// so it only carries ids and the few fields a client needs to decide whether to refetch
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TournamentChangeEvent {
+    
+    public enum Type {
+        TOURNAMENT_CREATED, TOURNAMENT_UPDATED, STATUS_CHANGED, TOURNAMENT_DELETED,
+        TEAM_ADDED, TEAM_UPDATED, TEAM_REMOVED, TEAMS_IMPORTED,
+        GROUPS_DRAWN, GROUPS_CLEARED,
+        FIXTURES_GENERATED, FIXTURES_CLEARED,
+        RESULT_RECORDED, STANDINGS_REBUILT,
+        KNOCKOUT_DRAWN, KNOCKOUT_CLEARED, KNOCKOUT_RESULT_RECORDED
+    }
+    
+    private Type type;
+    private Long tournamentId;
+    private Long teamId;
+    private String teamName;
+    private String status;
+    private Integer groupCount;
+    private Integer teamCount;
+    private Integer matchCount;
+    private Long matchId;
+    private Instant occurredAt;
+    
+    private static TournamentChangeEvent of(Type type, Long tournamentId) {
+        TournamentChangeEvent event = new TournamentChangeEvent();
+        event.setType(type);
+        event.setTournamentId(tournamentId);
+        event.setOccurredAt(Instant.now());
+        return event;
+    }
+    
+    public static TournamentChangeEvent tournamentCreated(Long tournamentId) {
+        return of(Type.TOURNAMENT_CREATED, tournamentId);
+    }
+    
+    public static TournamentChangeEvent tournamentUpdated(Long tournamentId) {
+        return of(Type.TOURNAMENT_UPDATED, tournamentId);
+    }
+    
+    public static TournamentChangeEvent statusChanged(Long tournamentId, String status) {
+        TournamentChangeEvent event = of(Type.STATUS_CHANGED, tournamentId);
+        event.setStatus(status);
+        return event;
+    }
+    
+    public static TournamentChangeEvent tournamentDeleted(Long tournamentId) {
+        return of(Type.TOURNAMENT_DELETED, tournamentId);
+    }
+    
+    public static TournamentChangeEvent teamAdded(Long tournamentId, Long teamId, String teamName) {
+        TournamentChangeEvent event = of(Type.TEAM_ADDED, tournamentId);
+        event.setTeamId(teamId);
+        event.setTeamName(teamName);
+        return event;
+    }
+    
+    public static TournamentChangeEvent teamUpdated(Long tournamentId, Long teamId, String teamName) {
+        TournamentChangeEvent event = of(Type.TEAM_UPDATED, tournamentId);
+        event.setTeamId(teamId);
+        event.setTeamName(teamName);
+        return event;
+    }
+    
+    public static TournamentChangeEvent teamRemoved(Long tournamentId, Long teamId) {
+        TournamentChangeEvent event = of(Type.TEAM_REMOVED, tournamentId);
+        event.setTeamId(teamId);
+        return event;
+    }
+    
+    // One event for a whole bulk import instead of one per team
+    public static TournamentChangeEvent teamsImported(Long tournamentId, int teamCount) {
+        TournamentChangeEvent event = of(Type.TEAMS_IMPORTED, tournamentId);
+        event.setTeamCount(teamCount);
+        return event;
+    }
+    
+    public static TournamentChangeEvent groupsDrawn(Long tournamentId, int groupCount) {
+        TournamentChangeEvent event = of(Type.GROUPS_DRAWN, tournamentId);
+        event.setGroupCount(groupCount);
+        return event;
+    }
+    
+    public static TournamentChangeEvent groupsCleared(Long tournamentId) {
+        return of(Type.GROUPS_CLEARED, tournamentId);
+    }
+    
+    public static TournamentChangeEvent fixturesGenerated(Long tournamentId, int matchCount) {
+        TournamentChangeEvent event = of(Type.FIXTURES_GENERATED, tournamentId);
+        event.setMatchCount(matchCount);
+        return event;
+    }
+    
+    public static TournamentChangeEvent fixturesCleared(Long tournamentId) {
+        return of(Type.FIXTURES_CLEARED, tournamentId);
+    }
+    
+    // Also sent when a result is corrected or cleared
+    public static TournamentChangeEvent resultRecorded(Long tournamentId, Long matchId) {
+        TournamentChangeEvent event = of(Type.RESULT_RECORDED, tournamentId);
+        event.setMatchId(matchId);
+        return event;
+    }
+    
+    public static TournamentChangeEvent standingsRebuilt(Long tournamentId) {
+        return of(Type.STANDINGS_REBUILT, tournamentId);
+    }
+    
+    // teamCount is the bracket size, byes included
+    public static TournamentChangeEvent knockoutDrawn(Long tournamentId, int bracketSize) {
+        TournamentChangeEvent event = of(Type.KNOCKOUT_DRAWN, tournamentId);
+        event.setTeamCount(bracketSize);
+        return event;
+    }
+    
+    public static TournamentChangeEvent knockoutCleared(Long tournamentId) {
+        return of(Type.KNOCKOUT_CLEARED, tournamentId);
+    }
+    
+    public static TournamentChangeEvent knockoutResultRecorded(Long tournamentId, Long matchId) {
+        TournamentChangeEvent event = of(Type.KNOCKOUT_RESULT_RECORDED, tournamentId);
+        event.setMatchId(matchId);
+        return event;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.demo.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+// Forward-only, read-only queries for the exports, consumed by the extractor as rows arrive so nothing is
+// collected in memory. Connector/J ignores a positive fetch size unless the URL has useCursorFetch, which
+// would switch every connection of the shared pool to server-side prepared statements. So on MySQL these
+// queries ask for row streaming instead (fetch size Integer.MIN_VALUE), which only affects this
+// JdbcTemplate. Other databases, such as H2 in tests, get export.fetch-size.
+// Each query's columns are listed next to it, in select order.
+@Repository
+public class ExportRepository {
+    
+    public static final String[] TOURNAMENT_COLUMNS = {
+            "id", "name", "description", "startDate", "endDate", "maxTeams", "teamCount", "status", "createdBy", "createdAt"
+    };
+    private static final String TOURNAMENTS =
+            "SELECT t.id, t.name, t.description, t.start_date, t.end_date, t.max_teams, t.team_count, t.status, " +
+            "u.username, t.created_at FROM tournaments t JOIN users u ON u.id = t.created_by ORDER BY t.id";
+    
+    public static final String[] TEAM_COLUMNS = {
+            "id", "tournamentId", "name", "description", "groupId", "groupName", "createdBy", "createdAt"
+    };
+    private static final String TEAMS =
+            "SELECT tm.id, tm.tournament_id, tm.name, tm.description, tm.group_id, g.name, u.username, tm.created_at " +
+            "FROM teams tm JOIN users u ON u.id = tm.created_by LEFT JOIN tournament_groups g ON g.id = tm.group_id ";
+    
+    public static final String[] GROUP_ASSIGNMENT_COLUMNS = {
+            "tournamentId", "groupId", "groupName", "teamId", "teamName"
+    };
+    private static final String GROUP_ASSIGNMENTS =
+            "SELECT g.tournament_id, g.id, g.name, tm.id, tm.name " +
+            "FROM tournament_groups g JOIN teams tm ON tm.group_id = g.id ";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public ExportRepository(DataSource dataSource,
+                            @Value("${export.fetch-size:1000}") int fetchSize,
+                            @Value("${export.mysql-row-streaming:true}") boolean mysqlRowStreaming) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(mysqlRowStreaming && isMySql(dataSource) ? Integer.MIN_VALUE : fetchSize);
+    }
+    
+    private static boolean isMySql(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "MySQL".equalsIgnoreCase(product);
+        } catch (MetaDataAccessException e) {
+            return false;
+        }
+    }
+    
+    public void streamTournaments(ResultSetExtractor<?> extractor) {
+        jdbcTemplate.query(TOURNAMENTS, extractor);
+    }
+    
+    // All tournaments when tournamentId is null
+    public void streamTeams(Long tournamentId, ResultSetExtractor<?> extractor) {
+        if (tournamentId == null) {
+            jdbcTemplate.query(TEAMS + "ORDER BY tm.id", extractor);
+        } else {
+            jdbcTemplate.query(TEAMS + "WHERE tm.tournament_id = ? ORDER BY tm.id", extractor, tournamentId);
+        }
+    }
+    
+    public void streamGroupAssignments(Long tournamentId, ResultSetExtractor<?> extractor) {
+        if (tournamentId == null) {
+            jdbcTemplate.query(GROUP_ASSIGNMENTS + "ORDER BY g.tournament_id, g.id, tm.id", extractor);
+        } else {
+            jdbcTemplate.query(GROUP_ASSIGNMENTS + "WHERE g.tournament_id = ? ORDER BY g.id, tm.id", extractor, tournamentId);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.demo.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// JDBC batch writes for the group draw. Group and Team use IDENTITY ids, which stop Hibernate
+// from batching inserts, so the draw writes its rows here in a few round trips instead.
+@Repository
+public class GroupBulkRepository {
+    
+    private static final int BATCH_SIZE = 1000;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    // Inserts the groups in one batch and returns their ids in the order of the given names
+    public List<Long> insertGroups(Long tournamentId, List<String> names, LocalDateTime createdAt) {
+        Timestamp created = Timestamp.valueOf(createdAt);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO tournament_groups (name, tournament_id, created_at) VALUES (?, ?, ?)",
+                names, BATCH_SIZE, (ps, name) -> {
+                    ps.setString(1, name);
+                    ps.setLong(2, tournamentId);
+                    ps.setTimestamp(3, created);
+                });
+        
+        Map<String, Long> idsByName = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name FROM tournament_groups WHERE tournament_id = ?",
+                rs -> { idsByName.put(rs.getString("name"), rs.getLong("id")); }, tournamentId);
+        
+        List<Long> ids = new ArrayList<>(names.size());
+        for (String name : names) {
+            ids.add(idsByName.get(name));
+        }
+        return ids;
+    }
+    
+    // Applies the team -> group mapping as a JDBC batch of single-row updates
+    public void assignTeamsToGroups(List<Long> teamIds, List<Long> groupIds) {
+        List<long[]> assignments = new ArrayList<>(teamIds.size());
+        for (int i = 0; i < teamIds.size(); i++) {
+            assignments.add(new long[] { groupIds.get(i), teamIds.get(i) });
+        }
+        jdbcTemplate.batchUpdate("UPDATE teams SET group_id = ? WHERE id = ?",
+                assignments, BATCH_SIZE, (ps, assignment) -> {
+                    ps.setLong(1, assignment[0]);
+                    ps.setLong(2, assignment[1]);
+                });
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.GroupProjection;
 import com.example.demo.entity.Group;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -11,7 +12,16 @@ import java.util.List;
 
 @Repository
 public interface GroupRepository extends JpaRepository<Group, Long> {
+    String GROUP_PROJECTION = "SELECT new com.example.demo.dto.GroupProjection(" +
+            "g.id, g.name, tr.id, tr.name, g.createdAt) " +
+            "FROM Group g JOIN g.tournament tr ";
+    
     List<Group> findByTournamentId(Long tournamentId);
+    boolean existsByTournamentId(Long tournamentId);
+    
+    // Read model: DTO columns only, no entity graph
+    @Query(GROUP_PROJECTION + "WHERE tr.id = :tournamentId ORDER BY g.id")
+    List<GroupProjection> findProjectionsByTournamentId(Long tournamentId);
     
     @Modifying
     @Transactional
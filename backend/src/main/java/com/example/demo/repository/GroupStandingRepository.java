@@ -0,0 +1,40 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.StandingDTO;
+import com.example.demo.entity.GroupStanding;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface GroupStandingRepository extends JpaRepository<GroupStanding, Long> {
+    String STANDING_PROJECTION = "SELECT new com.example.demo.dto.StandingDTO(" +
+            "g.id, g.name, s.position, t.id, t.name, s.played, s.won, s.drawn, s.lost, " +
+            "s.goalsFor, s.goalsAgainst, s.goalsFor - s.goalsAgainst, s.points) " +
+            "FROM GroupStanding s JOIN s.group g JOIN s.team t ";
+    
+    boolean existsByTournamentId(Long tournamentId);
+    
+    @Query(STANDING_PROJECTION + "WHERE s.tournament.id = :tournamentId ORDER BY g.id, s.position")
+    List<StandingDTO> findProjectionsByTournamentId(Long tournamentId);
+    
+    @Query(STANDING_PROJECTION + "WHERE g.id = :groupId ORDER BY s.position")
+    List<StandingDTO> findProjectionsByGroupId(Long groupId);
+    
+    // Locks the group's table until commit, so results in one group are applied one at a time; rows are
+    // locked in team id order so concurrent writers cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM GroupStanding s WHERE s.group.id = :groupId ORDER BY s.team.id")
+    List<GroupStanding> findByGroupIdForUpdate(Long groupId);
+    
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM GroupStanding s WHERE s.tournament.id = :tournamentId")
+    int deleteByTournamentId(Long tournamentId);
+}
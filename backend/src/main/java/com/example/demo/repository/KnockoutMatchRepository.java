@@ -0,0 +1,45 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.KnockoutMatchDTO;
+import com.example.demo.entity.KnockoutMatch;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface KnockoutMatchRepository extends JpaRepository<KnockoutMatch, Long> {
+    String KNOCKOUT_PROJECTION = "SELECT new com.example.demo.dto.KnockoutMatchDTO(" +
+            "k.id, k.slot, k.round, h.id, h.name, a.id, a.name, k.homeScore, k.awayScore, w.id) " +
+            "FROM KnockoutMatch k LEFT JOIN k.homeTeam h LEFT JOIN k.awayTeam a LEFT JOIN k.winner w ";
+    
+    boolean existsByTournamentId(Long tournamentId);
+    
+    // The whole bracket in one query, in heap order
+    @Query(KNOCKOUT_PROJECTION + "WHERE k.tournament.id = :tournamentId ORDER BY k.slot")
+    List<KnockoutMatchDTO> findProjectionsByTournamentId(Long tournamentId);
+    
+    @Query("SELECT CASE WHEN COUNT(k) > 0 THEN true ELSE false END FROM KnockoutMatch k " +
+           "WHERE k.homeTeam.id = :teamId OR k.awayTeam.id = :teamId")
+    boolean existsByTeamId(Long teamId);
+    
+    // Results lock the match and then the one it feeds; always child before parent, so no deadlocks
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT k FROM KnockoutMatch k WHERE k.id = :id")
+    Optional<KnockoutMatch> findByIdForUpdate(Long id);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT k FROM KnockoutMatch k WHERE k.tournament.id = :tournamentId AND k.slot = :slot")
+    Optional<KnockoutMatch> findBySlotForUpdate(Long tournamentId, Integer slot);
+    
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM KnockoutMatch k WHERE k.tournament.id = :tournamentId")
+    int deleteByTournamentId(Long tournamentId);
+}
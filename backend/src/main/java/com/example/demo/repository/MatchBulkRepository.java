@@ -0,0 +1,74 @@
+package com.example.demo.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// JDBC batch inserts for generated fixtures, group standings and knockout brackets; all use IDENTITY
+// ids, which stop Hibernate from batching. With rewriteBatchedStatements on the MySQL URL each batch
+// goes out as one multi-row INSERT.
+@Repository
+public class MatchBulkRepository {
+    
+    private static final int BATCH_SIZE = 1000;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    // Each fixture is {groupId, round, homeTeamId, awayTeamId}
+    public void insertMatches(Long tournamentId, List<long[]> fixtures, LocalDateTime createdAt) {
+        Timestamp created = Timestamp.valueOf(createdAt);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO matches (tournament_id, group_id, round_number, home_team_id, away_team_id, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?)",
+                fixtures, BATCH_SIZE, (ps, fixture) -> {
+                    ps.setLong(1, tournamentId);
+                    ps.setLong(2, fixture[0]);
+                    ps.setInt(3, (int) fixture[1]);
+                    ps.setLong(4, fixture[2]);
+                    ps.setLong(5, fixture[3]);
+                    ps.setTimestamp(6, created);
+                });
+    }
+    
+    // Each standing is {groupId, teamId, played, won, drawn, lost, goalsFor, goalsAgainst, points, position}
+    public void insertStandings(Long tournamentId, List<long[]> standings) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO group_standings (tournament_id, group_id, team_id, played, won, drawn, lost, " +
+                "goals_for, goals_against, points, position) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                standings, BATCH_SIZE, (ps, standing) -> {
+                    ps.setLong(1, tournamentId);
+                    ps.setLong(2, standing[0]);
+                    ps.setLong(3, standing[1]);
+                    for (int i = 2; i < standing.length; i++) {
+                        ps.setInt(i + 2, (int) standing[i]);
+                    }
+                });
+    }
+    
+    // Each match is {slot, round, homeTeamId, awayTeamId, winnerId}; the teams are null where not yet known
+    public void insertKnockoutMatches(Long tournamentId, List<Long[]> matches, LocalDateTime createdAt) {
+        Timestamp created = Timestamp.valueOf(createdAt);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO knockout_matches (tournament_id, slot, round_number, home_team_id, away_team_id, " +
+                "winner_id, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                matches, BATCH_SIZE, (ps, match) -> {
+                    ps.setLong(1, tournamentId);
+                    ps.setInt(2, match[0].intValue());
+                    ps.setInt(3, match[1].intValue());
+                    for (int i = 2; i < match.length; i++) {
+                        if (match[i] != null) {
+                            ps.setLong(i + 2, match[i]);
+                        } else {
+                            ps.setNull(i + 2, Types.BIGINT);
+                        }
+                    }
+                    ps.setTimestamp(7, created);
+                });
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.MatchDTO;
+import com.example.demo.dto.MatchResultEntry;
+import com.example.demo.entity.Match;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MatchRepository extends JpaRepository<Match, Long> {
+    String MATCH_PROJECTION = "SELECT new com.example.demo.dto.MatchDTO(" +
+            "m.id, g.id, g.name, m.round, h.id, h.name, a.id, a.name, m.homeScore, m.awayScore) " +
+            "FROM Match m JOIN m.group g JOIN m.homeTeam h JOIN m.awayTeam a ";
+    String RESULT_ENTRY = "SELECT new com.example.demo.dto.MatchResultEntry(" +
+            "m.group.id, m.homeTeam.id, m.awayTeam.id, m.homeScore, m.awayScore) " +
+            "FROM Match m WHERE m.homeScore IS NOT NULL AND m.awayScore IS NOT NULL ";
+    
+    boolean existsByTournamentId(Long tournamentId);
+    
+    @Query(MATCH_PROJECTION + "WHERE m.tournament.id = :tournamentId ORDER BY g.id, m.round, m.id")
+    List<MatchDTO> findProjectionsByTournamentId(Long tournamentId);
+    
+    @Query("SELECT COUNT(m) FROM Match m WHERE m.tournament.id = :tournamentId " +
+           "AND (m.homeScore IS NULL OR m.awayScore IS NULL)")
+    long countUnplayedByTournamentId(Long tournamentId);
+    
+    @Query("SELECT m.group.id FROM Match m WHERE m.id = :id")
+    Optional<Long> findGroupIdById(Long id);
+    
+    @Query(RESULT_ENTRY + "AND m.group.id = :groupId")
+    List<MatchResultEntry> findResultsByGroupId(Long groupId);
+    
+    @Query(RESULT_ENTRY + "AND m.tournament.id = :tournamentId")
+    List<MatchResultEntry> findResultsByTournamentId(Long tournamentId);
+    
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Match m WHERE m.tournament.id = :tournamentId")
+    int deleteByTournamentId(Long tournamentId);
+    
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Match m WHERE m.homeTeam.id = :teamId OR m.awayTeam.id = :teamId")
+    int deleteByTeamId(Long teamId);
+}
@@ -0,0 +1,29 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.RegistrationHourlyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RegistrationHourlyStatsRepository extends JpaRepository<RegistrationHourlyStats, LocalDateTime> {
+    
+    List<RegistrationHourlyStats> findByHourStartGreaterThanEqual(LocalDateTime from);
+    
+    // Returns 0 when the hour has no row yet
+    @Modifying
+    @Transactional
+    @Query("UPDATE RegistrationHourlyStats s SET s.registrations = s.registrations + :delta WHERE s.hourStart = :hourStart")
+    int addRegistrations(LocalDateTime hourStart, long delta);
+    
+    // A plain INSERT: save() would merge, overwriting a row another instance inserted in the meantime
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO registration_hourly_stats (hour_start, registrations) VALUES (:hourStart, :delta)", nativeQuery = true)
+    int insertRegistrations(LocalDateTime hourStart, long delta);
+}
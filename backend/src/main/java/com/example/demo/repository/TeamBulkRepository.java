@@ -0,0 +1,48 @@
+package com.example.demo.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// JDBC batch inserts for the bulk team import; see GroupBulkRepository for why these bypass Hibernate.
+// The caller supplies Team.normalizeName of each name, which the entity would otherwise set itself.
+@Repository
+public class TeamBulkRepository {
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    // Each team is {name, normalized name, description}; returns the new ids keyed by normalized name
+    public Map<String, Long> insertTeams(Long tournamentId, Long createdById, List<String[]> teams, LocalDateTime createdAt) {
+        Timestamp created = Timestamp.valueOf(createdAt);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO teams (name, normalized_name, description, tournament_id, created_by, created_at) VALUES (?, ?, ?, ?, ?, ?)",
+                teams, teams.size(), (ps, team) -> {
+                    ps.setString(1, team[0]);
+                    ps.setString(2, team[1]);
+                    ps.setString(3, team[2]);
+                    ps.setLong(4, tournamentId);
+                    ps.setLong(5, createdById);
+                    ps.setTimestamp(6, created);
+                });
+        
+        Map<String, Long> ids = new HashMap<>();
+        String placeholders = String.join(", ", Collections.nCopies(teams.size(), "?"));
+        List<Object> args = new ArrayList<>(teams.size() + 1);
+        args.add(tournamentId);
+        for (String[] team : teams) {
+            args.add(team[1]);
+        }
+        jdbcTemplate.query("SELECT id, normalized_name FROM teams WHERE tournament_id = ? AND normalized_name IN (" + placeholders + ")",
+                rs -> { ids.put(rs.getString("normalized_name"), rs.getLong("id")); }, args.toArray());
+        return ids;
+    }
+}
@@ -1,5 +1,9 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.GroupTeamEntry;
+import com.example.demo.dto.SearchDocument;
+import com.example.demo.dto.TeamDrawEntry;
+import com.example.demo.dto.TeamProjection;
 import com.example.demo.entity.Team;
 import com.example.demo.entity.Tournament;
 import com.example.demo.entity.User;
@@ -9,18 +13,61 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TeamRepository extends JpaRepository<Team, Long> {
+    String TEAM_PROJECTION = "SELECT new com.example.demo.dto.TeamProjection(" +
+            "t.id, t.name, t.description, u.username, t.createdAt, t.tournament.id, g.id, g.name) " +
+            "FROM Team t JOIN t.createdBy u LEFT JOIN t.group g ";
+    
     @Query("SELECT t FROM Team t JOIN FETCH t.createdBy WHERE t.tournament = :tournament")
     List<Team> findByTournament(Tournament tournament);
     
+    @Query("SELECT t.id FROM Team t WHERE t.tournament.id = :tournamentId ORDER BY t.id")
+    List<Long> findIdsByTournamentId(Long tournamentId);
+    
+    @Query("SELECT new com.example.demo.dto.TeamDrawEntry(t.id, t.createdBy.id) FROM Team t WHERE t.tournament.id = :tournamentId ORDER BY t.id")
+    List<TeamDrawEntry> findDrawEntriesByTournamentId(Long tournamentId);
+    
+    @Query("SELECT new com.example.demo.dto.GroupTeamEntry(t.id, t.group.id) FROM Team t " +
+           "WHERE t.tournament.id = :tournamentId AND t.group IS NOT NULL ORDER BY t.group.id, t.id")
+    List<GroupTeamEntry> findGroupTeamEntriesByTournamentId(Long tournamentId);
+    
     List<Team> findByCreatedBy(User createdBy);
-    boolean existsByNameAndTournament(String name, Tournament tournament);
+    @Query("SELECT t FROM Team t WHERE t.normalizedName IS NULL ORDER BY t.id")
+    List<Team> findWithoutNormalizedName();
+    
+    @Query("SELECT CONCAT(t.tournament.id, ':', t.normalizedName) FROM Team t WHERE t.normalizedName IS NOT NULL")
+    List<String> findNormalizedNameKeys();
+    
+    @Query("SELECT t.normalizedName FROM Team t WHERE t.tournament.id = :tournamentId AND t.normalizedName IS NOT NULL")
+    List<String> findNormalizedNamesByTournamentId(Long tournamentId);
+    
+    // Read model: DTO columns only, no entity graph
+    @Query(TEAM_PROJECTION + "WHERE t.id = :id")
+    Optional<TeamProjection> findProjectionById(Long id);
+    
+    @Query(TEAM_PROJECTION + "WHERE t.tournament.id = :tournamentId ORDER BY t.createdAt, t.id")
+    List<TeamProjection> findProjectionsByTournamentId(Long tournamentId);
+    
+    @Query(TEAM_PROJECTION + "WHERE t.tournament.id IN :tournamentIds ORDER BY t.createdAt, t.id")
+    List<TeamProjection> findProjectionsByTournamentIdIn(Collection<Long> tournamentIds);
+    
+    @Query(TEAM_PROJECTION + "WHERE u.id = :userId ORDER BY t.createdAt, t.id")
+    List<TeamProjection> findProjectionsByCreatedById(Long userId);
+    
+    @Query("SELECT new com.example.demo.dto.SearchDocument(t.id, t.tournament.id, t.name) FROM Team t")
+    List<SearchDocument> findSearchDocuments();
+    
+    @Query("SELECT new com.example.demo.dto.SearchDocument(t.id, t.tournament.id, t.name) FROM Team t " +
+           "WHERE t.tournament.id = :tournamentId")
+    List<SearchDocument> findSearchDocumentsByTournamentId(Long tournamentId);
     
     @Modifying
     @Transactional
     @Query("UPDATE Team t SET t.group = null WHERE t.tournament.id = :tournamentId")
     void clearGroupAssignmentsByTournamentId(Long tournamentId);
-}
\ No newline at end of file
+}
@@ -0,0 +1,77 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.TeamProjection;
+import com.example.demo.dto.TeamSearchCriteria;
+import com.example.demo.entity.Team;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Team search with any combination of filters, one keyset page at a time. Only the conditions that
+// are set end up in the query, so each combination can use the matching index on teams (see Team).
+@Repository
+public class TeamSearchRepository {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    // Teams ordered by (createdAt, id); afterCreatedAt/afterId is the last row of the previous page, or null
+    public List<TeamProjection> search(TeamSearchCriteria criteria, LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        
+        if (criteria.getTournamentId() != null) {
+            conditions.add("t.tournament.id = :tournamentId");
+            parameters.put("tournamentId", criteria.getTournamentId());
+        }
+        if (criteria.isUnassigned()) {
+            conditions.add("t.group IS NULL");
+        } else if (criteria.getGroupId() != null) {
+            conditions.add("g.id = :groupId");
+            parameters.put("groupId", criteria.getGroupId());
+        }
+        if (criteria.getCreatedBy() != null) {
+            conditions.add("u.username = :createdBy");
+            parameters.put("createdBy", criteria.getCreatedBy());
+        }
+        if (criteria.getNamePrefix() != null) {
+            conditions.add("t.normalizedName LIKE :namePattern ESCAPE '!'");
+            parameters.put("namePattern", escapeLike(Team.normalizeName(criteria.getNamePrefix())) + "%");
+        }
+        if (criteria.getCreatedFrom() != null) {
+            conditions.add("t.createdAt >= :createdFrom");
+            parameters.put("createdFrom", criteria.getCreatedFrom());
+        }
+        if (criteria.getCreatedTo() != null) {
+            conditions.add("t.createdAt < :createdTo");
+            parameters.put("createdTo", criteria.getCreatedTo());
+        }
+        if (afterId != null) {
+            conditions.add("(t.createdAt > :afterCreatedAt OR (t.createdAt = :afterCreatedAt AND t.id > :afterId))");
+            parameters.put("afterCreatedAt", afterCreatedAt);
+            parameters.put("afterId", afterId);
+        }
+        
+        StringBuilder jpql = new StringBuilder(TeamRepository.TEAM_PROJECTION);
+        if (!conditions.isEmpty()) {
+            jpql.append("WHERE ").append(String.join(" AND ", conditions)).append(' ');
+        }
+        jpql.append("ORDER BY t.createdAt, t.id");
+        
+        TypedQuery<TeamProjection> query = entityManager.createQuery(jpql.toString(), TeamProjection.class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+    
+    // '!' rather than a backslash, which MySQL would also treat as a string escape
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
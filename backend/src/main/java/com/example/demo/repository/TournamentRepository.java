@@ -1,16 +1,35 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.SearchDocument;
+import com.example.demo.dto.TournamentProjection;
+import com.example.demo.dto.TournamentStatsRow;
+import com.example.demo.dto.TournamentVersion;
 import com.example.demo.entity.Tournament;
 import com.example.demo.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TournamentRepository extends JpaRepository<Tournament, Long> {
+    String TOURNAMENT_PROJECTION = "SELECT new com.example.demo.dto.TournamentProjection(" +
+            "t.id, t.name, t.description, t.startDate, t.endDate, t.maxTeams, t.status, u.username, t.createdAt, t.drawSeed) " +
+            "FROM Tournament t JOIN t.createdBy u ";
+    String STATS_ROW = "SELECT new com.example.demo.dto.TournamentStatsRow(" +
+            "t.id, t.name, t.status, t.teamCount, t.maxTeams, " +
+            "CASE WHEN EXISTS (SELECT g.id FROM Group g WHERE g.tournament = t) THEN true ELSE false END) " +
+            "FROM Tournament t ";
+    String SEARCH_DOCUMENT = "SELECT new com.example.demo.dto.SearchDocument(t.id, t.id, t.name, t.description) " +
+            "FROM Tournament t ";
+    
     List<Tournament> findByCreatedBy(User createdBy);
     List<Tournament> findByStatus(Tournament.Status status);
     
@@ -19,4 +38,88 @@ public interface TournamentRepository extends JpaRepository<Tournament, Long> {
     
     @Query("SELECT t FROM Tournament t JOIN FETCH t.createdBy WHERE t.id = :id")
     Optional<Tournament> findByIdWithCreatedBy(Long id);
-}
\ No newline at end of file
+    
+    // Read model: DTO columns only, no entity graph
+    @Query(TOURNAMENT_PROJECTION + "WHERE t.id = :id")
+    Optional<TournamentProjection> findProjectionById(Long id);
+    
+    @Query(TOURNAMENT_PROJECTION + "WHERE t.id IN :ids")
+    List<TournamentProjection> findProjectionsByIdIn(Collection<Long> ids);
+    
+    @Query(TOURNAMENT_PROJECTION + "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TournamentProjection> findAllProjections();
+    
+    @Query(SEARCH_DOCUMENT)
+    List<SearchDocument> findSearchDocuments();
+    
+    @Query(SEARCH_DOCUMENT + "WHERE t.id = :id")
+    Optional<SearchDocument> findSearchDocumentById(Long id);
+    
+    // Keyset pages ordered by (createdAt, id) descending; the cursor is the last row of the previous page
+    @Query(TOURNAMENT_PROJECTION + "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TournamentProjection> findFirstPage(Pageable pageable);
+    
+    @Query(TOURNAMENT_PROJECTION +
+           "WHERE t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TournamentProjection> findPageAfter(LocalDateTime createdAt, Long id, Pageable pageable);
+    
+    @Query(TOURNAMENT_PROJECTION + "WHERE t.status = :status " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TournamentProjection> findFirstPageByStatus(Tournament.Status status, Pageable pageable);
+    
+    @Query(TOURNAMENT_PROJECTION + "WHERE t.status = :status " +
+           "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TournamentProjection> findPageAfterByStatus(Tournament.Status status, LocalDateTime createdAt, Long id, Pageable pageable);
+    
+    // Dashboard counters: one row per tournament, read from the maintained teamCount instead of counting teams
+    @Query(STATS_ROW)
+    List<TournamentStatsRow> findStatsRows();
+    
+    @Query(STATS_ROW + "WHERE t.id = :id")
+    Optional<TournamentStatsRow> findStatsRowById(Long id);
+    
+    @Query("SELECT new com.example.demo.dto.TournamentVersion(t.id, t.contentVersion, COALESCE(t.lastModified, t.createdAt)) " +
+            "FROM Tournament t WHERE t.id = :id")
+    Optional<TournamentVersion> findVersionById(Long id);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE Tournament t SET t.contentVersion = t.contentVersion + 1, t.lastModified = :modifiedAt WHERE t.id = :id")
+    int bumpContentVersion(Long id, LocalDateTime modifiedAt);
+    
+    // Takes a registration slot atomically; returns 0 when the tournament is full or does not exist.
+    // The row lock is held until commit, so only registrations for the same tournament wait on it
+    @Modifying
+    @Transactional
+    @Query("UPDATE Tournament t SET t.teamCount = t.teamCount + 1 WHERE t.id = :id AND t.teamCount < t.maxTeams")
+    int reserveTeamSlot(Long id);
+    
+    // A no-op write that takes the row lock reserveTeamSlot waits on, holding off single registrations
+    // until the caller commits; returns 0 when the tournament does not exist
+    @Modifying
+    @Transactional
+    @Query("UPDATE Tournament t SET t.teamCount = t.teamCount WHERE t.id = :id")
+    int lockTeamSlots(Long id);
+    
+    // All-or-nothing reservation of several slots for a bulk import
+    @Modifying
+    @Transactional
+    @Query("UPDATE Tournament t SET t.teamCount = t.teamCount + :count WHERE t.id = :id AND t.teamCount + :count <= t.maxTeams")
+    int reserveTeamSlots(Long id, int count);
+    
+    @Query("SELECT t.maxTeams - t.teamCount FROM Tournament t WHERE t.id = :id")
+    Optional<Integer> findRemainingCapacity(Long id);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE Tournament t SET t.teamCount = t.teamCount - 1 WHERE t.id = :id AND t.teamCount > 0")
+    int releaseTeamSlot(Long id);
+    
+    // Recomputes every counter from the teams table, e.g. after the column was added
+    @Modifying
+    @Transactional
+    @Query("UPDATE Tournament t SET t.teamCount = (SELECT COUNT(tm) FROM Team tm WHERE tm.tournament.id = t.id)")
+    int recountTeams();
+}
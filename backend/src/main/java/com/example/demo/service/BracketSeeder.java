@@ -0,0 +1,100 @@
+package com.example.demo.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Places group qualifiers into a knockout bracket. Qualifiers are seeded by group position (all winners
+// first), then points, goal difference and goals scored. The bracket size is the next power of two and the
+// missing entrants are byes, which go to the best seeds. Seeds are laid out in the standard order, where
+// seed s first meets seed n + 1 - s and the top 2^k seeds land in different 1/2^k of the bracket, so the
+// group winners meet each other as late as possible. Finally first-round pairings from the same group are
+// swapped with another pairing of the same group position where that resolves both.
+@Component
+public class BracketSeeder {
+    
+    @Data
+    @AllArgsConstructor
+    public static class Qualifier {
+        private long teamId;
+        private long groupId;
+        private int position;
+        private int points;
+        private int goalDifference;
+        private int goalsFor;
+    }
+    
+    // Entrants in bracket order (null for a bye); first-round pairs are (0, 1), (2, 3), ...
+    public List<Qualifier> seed(List<Qualifier> qualifiers) {
+        if (qualifiers.size() < 2) {
+            throw new RuntimeException("At least two teams are needed for a knockout stage");
+        }
+        List<Qualifier> seeded = new ArrayList<>(qualifiers);
+        seeded.sort(Comparator.comparingInt(Qualifier::getPosition)
+                .thenComparing(Comparator.comparingInt(Qualifier::getPoints).reversed())
+                .thenComparing(Comparator.comparingInt(Qualifier::getGoalDifference).reversed())
+                .thenComparing(Comparator.comparingInt(Qualifier::getGoalsFor).reversed())
+                .thenComparingLong(Qualifier::getTeamId));
+        
+        int size = bracketSize(seeded.size());
+        int[] order = seedOrder(size);
+        List<Qualifier> entrants = new ArrayList<>(size);
+        for (int seed : order) {
+            entrants.add(seed <= seeded.size() ? seeded.get(seed - 1) : null);
+        }
+        separateGroups(entrants);
+        return entrants;
+    }
+    
+    public static int bracketSize(int entrants) {
+        int size = 2;
+        while (size < entrants) {
+            size <<= 1;
+        }
+        return size;
+    }
+    
+    // 1-based seed at each bracket position: [1, 2] becomes [1, 4, 2, 3], then [1, 8, 4, 5, 2, 7, 3, 6], ...
+    static int[] seedOrder(int size) {
+        int[] order = { 1 };
+        while (order.length < size) {
+            int length = order.length * 2;
+            int[] next = new int[length];
+            for (int i = 0; i < order.length; i++) {
+                next[2 * i] = order[i];
+                next[2 * i + 1] = length + 1 - order[i];
+            }
+            order = next;
+        }
+        return order;
+    }
+    
+    // Swaps the lower-seeded side of a same-group pairing with the lower side of another pairing, keeping
+    // both sides in the same seeding tier (group position) so no team gets an easier draw than its seed
+    private void separateGroups(List<Qualifier> entrants) {
+        for (int pair = 0; pair < entrants.size(); pair += 2) {
+            Qualifier top = entrants.get(pair);
+            Qualifier bottom = entrants.get(pair + 1);
+            if (top == null || bottom == null || top.getGroupId() != bottom.getGroupId()) {
+                continue;
+            }
+            for (int other = 0; other < entrants.size(); other += 2) {
+                Qualifier otherTop = entrants.get(other);
+                Qualifier otherBottom = entrants.get(other + 1);
+                if (other == pair || otherTop == null || otherBottom == null
+                        || otherBottom.getPosition() != bottom.getPosition()
+                        || otherBottom.getGroupId() == top.getGroupId()
+                        || bottom.getGroupId() == otherTop.getGroupId()) {
+                    continue;
+                }
+                entrants.set(pair + 1, otherBottom);
+                entrants.set(other + 1, bottom);
+                break;
+            }
+        }
+    }
+}
@@ -2,9 +2,12 @@ package com.example.demo.service;
 
 import com.example.demo.dto.GroupDTO;
 import com.example.demo.dto.GroupBasicDTO;
+import com.example.demo.dto.GroupProjection;
 import com.example.demo.dto.TeamDTO;
+import com.example.demo.dto.TeamProjection;
 import com.example.demo.dto.TournamentBasicDTO;
 import com.example.demo.dto.TournamentDTO;
+import com.example.demo.dto.TournamentProjection;
 import com.example.demo.entity.Group;
 import com.example.demo.entity.Team;
 import com.example.demo.entity.Tournament;
@@ -27,6 +30,7 @@ public class DTOConversionService {
         dto.setStatus(tournament.getStatus().name());
         dto.setCreatedBy(tournament.getCreatedBy().getUsername());
         dto.setCreatedAt(tournament.getCreatedAt());
+        dto.setDrawSeed(tournament.getDrawSeed());
         
         // Convert teams to DTOs to avoid circular references
         List<TeamDTO> teamDTOs = tournament.getTeams().stream()
@@ -111,4 +115,60 @@ public class DTOConversionService {
         dto.setTeamCount(group.getTeams().size());
         return dto;
     }
-}
\ No newline at end of file
+    
+    // Projection-based converters used by ReadModelService; they never touch the entity graph
+    
+    public TournamentBasicDTO convertToTournamentBasicDTO(TournamentProjection tournament) {
+        TournamentBasicDTO dto = new TournamentBasicDTO();
+        dto.setId(tournament.getId());
+        dto.setName(tournament.getName());
+        dto.setDescription(tournament.getDescription());
+        dto.setStartDate(tournament.getStartDate());
+        dto.setEndDate(tournament.getEndDate());
+        dto.setMaxTeams(tournament.getMaxTeams());
+        dto.setStatus(tournament.getStatus().name());
+        dto.setCreatedBy(tournament.getCreatedBy());
+        dto.setCreatedAt(tournament.getCreatedAt());
+        return dto;
+    }
+    
+    public TournamentDTO convertToTournamentDTO(TournamentProjection tournament, List<TeamDTO> teams) {
+        TournamentDTO dto = new TournamentDTO();
+        dto.setId(tournament.getId());
+        dto.setName(tournament.getName());
+        dto.setDescription(tournament.getDescription());
+        dto.setStartDate(tournament.getStartDate());
+        dto.setEndDate(tournament.getEndDate());
+        dto.setMaxTeams(tournament.getMaxTeams());
+        dto.setStatus(tournament.getStatus().name());
+        dto.setCreatedBy(tournament.getCreatedBy());
+        dto.setCreatedAt(tournament.getCreatedAt());
+        dto.setDrawSeed(tournament.getDrawSeed());
+        dto.setTeams(teams);
+        return dto;
+    }
+    
+    public TeamDTO convertToTeamDTO(TeamProjection team, TournamentBasicDTO tournament) {
+        TeamDTO dto = new TeamDTO();
+        dto.setId(team.getId());
+        dto.setName(team.getName());
+        dto.setDescription(team.getDescription());
+        dto.setCreatedBy(team.getCreatedBy());
+        dto.setCreatedAt(team.getCreatedAt());
+        dto.setTournament(tournament);
+        dto.setGroupId(team.getGroupId());
+        dto.setGroupName(team.getGroupName());
+        return dto;
+    }
+    
+    public GroupDTO convertToGroupDTO(GroupProjection group, List<TeamDTO> teams) {
+        GroupDTO dto = new GroupDTO();
+        dto.setId(group.getId());
+        dto.setName(group.getName());
+        dto.setTournamentId(group.getTournamentId());
+        dto.setTournamentName(group.getTournamentName());
+        dto.setCreatedAt(group.getCreatedAt());
+        dto.setTeams(teams);
+        return dto;
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.DashboardStatsDTO;
+import com.example.demo.dto.HourlyRegistrationsDTO;
+import com.example.demo.dto.TournamentFillDTO;
+import com.example.demo.dto.TournamentStatsRow;
+import com.example.demo.entity.RegistrationHourlyStats;
+import com.example.demo.entity.Tournament;
+import com.example.demo.event.TournamentChangeEvent;
+import com.example.demo.repository.RegistrationHourlyStatsRepository;
+import com.example.demo.repository.TournamentRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+// Admin dashboard numbers kept in memory and updated from committed tournament changes, so a dashboard
+// refresh costs one pass over the tournaments held here and no queries. The snapshot is loaded once at
+// startup from the tournaments table (whose teamCount is already maintained per registration) and
+// periodically reconciled against it to repair any drift; tournaments changed while the snapshot loads
+// keep their live counters until the next reconcile. Registrations per hour are counted here and
+// added to the registration_hourly_stats summary table in batches.
+@Service
+public class DashboardStatsService {
+    
+    private static final class TournamentStats {
+        final String name;
+        final Tournament.Status status;
+        final int teamCount;
+        final int maxTeams;
+        final boolean groupsDrawn;
+        
+        TournamentStats(String name, Tournament.Status status, int teamCount, int maxTeams, boolean groupsDrawn) {
+            this.name = name;
+            this.status = status;
+            this.teamCount = teamCount;
+            this.maxTeams = maxTeams;
+            this.groupsDrawn = groupsDrawn;
+        }
+        
+        static TournamentStats of(TournamentStatsRow row) {
+            return new TournamentStats(row.getName(), row.getStatus(), row.getTeamCount(), row.getMaxTeams(),
+                    Boolean.TRUE.equals(row.getGroupsDrawn()));
+        }
+        
+        TournamentStats withTeamDelta(int delta) {
+            return new TournamentStats(name, status, Math.max(0, teamCount + delta), maxTeams, groupsDrawn);
+        }
+        
+        TournamentStats withGroupsDrawn(boolean drawn) {
+            return new TournamentStats(name, status, teamCount, maxTeams, drawn);
+        }
+        
+        // Name, status and capacity come from the database; the counters stay as maintained here
+        TournamentStats withDetails(TournamentStatsRow row) {
+            return new TournamentStats(row.getName(), row.getStatus(), teamCount, row.getMaxTeams(), groupsDrawn);
+        }
+        
+        boolean readyForDraw() {
+            return (status == Tournament.Status.UPCOMING || status == Tournament.Status.ONGOING)
+                    && teamCount >= maxTeams && !groupsDrawn;
+        }
+    }
+    
+    @Autowired
+    private TournamentRepository tournamentRepository;
+    
+    @Autowired
+    private RegistrationHourlyStatsRepository registrationStatsRepository;
+    
+    @Value("${dashboard.registrations.window-hours:24}")
+    private int windowHours;
+    
+    private final Map<Long, TournamentStats> tournaments = new ConcurrentHashMap<>();
+    
+    // Tournaments changed by events while a reconcile is loading its snapshot, null when none is running.
+    // Their live entries already include the change and win over the snapshot, which may or may not
+    private final Object reconcileLock = new Object();
+    private Set<Long> changedDuringReconcile;
+    
+    // Registrations per hour within the window, flushed or not, and the part not yet written to the table
+    private final Map<LocalDateTime, LongAdder> registrationsByHour = new ConcurrentHashMap<>();
+    private final Map<LocalDateTime, LongAdder> unflushedByHour = new ConcurrentHashMap<>();
+    
+    // Runs after DataInitializer has recounted the team counters
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reconcile();
+        LocalDateTime from = currentHour().minusHours(windowHours - 1);
+        for (RegistrationHourlyStats stats : registrationStatsRepository.findByHourStartGreaterThanEqual(from)) {
+            registrationsByHour.computeIfAbsent(stats.getHourStart(), hour -> new LongAdder()).add(stats.getRegistrations());
+        }
+    }
+    
+    @Scheduled(initialDelayString = "${dashboard.reconcile-interval:10m}", fixedDelayString = "${dashboard.reconcile-interval:10m}")
+    public void reconcile() {
+        reconcile(tournamentRepository::findStatsRows);
+    }
+    
+    synchronized void reconcile(Supplier<List<TournamentStatsRow>> snapshot) {
+        synchronized (reconcileLock) {
+            changedDuringReconcile = new HashSet<>();
+        }
+        Map<Long, TournamentStats> fresh = new LinkedHashMap<>();
+        try {
+            for (TournamentStatsRow row : snapshot.get()) {
+                fresh.put(row.getId(), TournamentStats.of(row));
+            }
+        } catch (RuntimeException e) {
+            synchronized (reconcileLock) {
+                changedDuringReconcile = null;
+            }
+            throw e;
+        }
+        synchronized (reconcileLock) {
+            Set<Long> changed = changedDuringReconcile;
+            fresh.forEach((id, stats) -> {
+                if (!changed.contains(id)) {
+                    tournaments.put(id, stats);
+                }
+            });
+            tournaments.keySet().removeIf(id -> !fresh.containsKey(id) && !changed.contains(id));
+            changedDuringReconcile = null;
+        }
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTournamentChange(TournamentChangeEvent event) {
+        Long tournamentId = event.getTournamentId();
+        switch (event.getType()) {
+            case TOURNAMENT_CREATED -> tournamentRepository.findStatsRowById(tournamentId)
+                    .ifPresent(row -> apply(tournamentId, () -> tournaments.put(tournamentId, TournamentStats.of(row))));
+            case TOURNAMENT_UPDATED, STATUS_CHANGED -> tournamentRepository.findStatsRowById(tournamentId)
+                    .ifPresent(row -> update(tournamentId, stats -> stats.withDetails(row)));
+            case TOURNAMENT_DELETED -> apply(tournamentId, () -> tournaments.remove(tournamentId));
+            case TEAM_ADDED -> addRegistrations(event, 1);
+            case TEAMS_IMPORTED -> addRegistrations(event, event.getTeamCount());
+            case TEAM_REMOVED -> update(tournamentId, stats -> stats.withTeamDelta(-1));
+            case GROUPS_DRAWN -> update(tournamentId, stats -> stats.withGroupsDrawn(true));
+            case GROUPS_CLEARED -> update(tournamentId, stats -> stats.withGroupsDrawn(false));
+            default -> {
+            }
+        }
+    }
+    
+    private void update(Long tournamentId, UnaryOperator<TournamentStats> change) {
+        apply(tournamentId, () -> tournaments.computeIfPresent(tournamentId, (id, stats) -> change.apply(stats)));
+    }
+    
+    private void apply(Long tournamentId, Runnable change) {
+        synchronized (reconcileLock) {
+            change.run();
+            if (changedDuringReconcile != null) {
+                changedDuringReconcile.add(tournamentId);
+            }
+        }
+    }
+    
+    private void addRegistrations(TournamentChangeEvent event, int teams) {
+        update(event.getTournamentId(), stats -> stats.withTeamDelta(teams));
+        LocalDateTime hour = LocalDateTime.ofInstant(event.getOccurredAt(), ZoneId.systemDefault())
+                .truncatedTo(ChronoUnit.HOURS);
+        registrationsByHour.computeIfAbsent(hour, h -> new LongAdder()).add(teams);
+        unflushedByHour.computeIfAbsent(hour, h -> new LongAdder()).add(teams);
+    }
+    
+    // One UPDATE (or INSERT for a new hour) per hour with registrations since the last flush
+    @Scheduled(fixedDelayString = "${dashboard.registrations.flush-interval:30s}")
+    @PreDestroy
+    public synchronized void flushRegistrations() {
+        LocalDateTime current = currentHour();
+        for (Map.Entry<LocalDateTime, LongAdder> entry : unflushedByHour.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta == 0) {
+                // Only past hours are dropped; the current one may still be incremented concurrently
+                if (entry.getKey().isBefore(current)) {
+                    unflushedByHour.remove(entry.getKey(), entry.getValue());
+                }
+                continue;
+            }
+            try {
+                writeRegistrations(entry.getKey(), delta);
+            } catch (RuntimeException e) {
+                // Keep the delta for the next flush rather than losing it
+                entry.getValue().add(delta);
+            }
+        }
+        LocalDateTime oldest = current.minusHours(windowHours - 1);
+        registrationsByHour.keySet().removeIf(hour -> hour.isBefore(oldest));
+    }
+    
+    void writeRegistrations(LocalDateTime hour, long delta) {
+        if (registrationStatsRepository.addRegistrations(hour, delta) > 0) {
+            return;
+        }
+        try {
+            registrationStatsRepository.insertRegistrations(hour, delta);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance inserted the hour first
+            registrationStatsRepository.addRegistrations(hour, delta);
+        }
+    }
+    
+    public DashboardStatsDTO getDashboardStats() {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        Map<Tournament.Status, Long> counts = new EnumMap<>(Tournament.Status.class);
+        long totalTeams = 0;
+        long totalCapacity = 0;
+        List<Long> readyForDraw = new ArrayList<>();
+        List<TournamentFillDTO> fills = new ArrayList<>(tournaments.size());
+        
+        for (Map.Entry<Long, TournamentStats> entry : tournaments.entrySet()) {
+            TournamentStats stats = entry.getValue();
+            counts.merge(stats.status, 1L, Long::sum);
+            totalTeams += stats.teamCount;
+            totalCapacity += stats.maxTeams;
+            boolean ready = stats.readyForDraw();
+            if (ready) {
+                readyForDraw.add(entry.getKey());
+            }
+            fills.add(new TournamentFillDTO(entry.getKey(), stats.name, stats.status.name(), stats.teamCount,
+                    stats.maxTeams, ratio(stats.teamCount, stats.maxTeams), stats.groupsDrawn, ready));
+        }
+        for (Tournament.Status status : Tournament.Status.values()) {
+            byStatus.put(status.name(), counts.getOrDefault(status, 0L));
+        }
+        fills.sort(Comparator.comparing(TournamentFillDTO::getId));
+        readyForDraw.sort(null);
+        
+        // Every hour of the window, oldest first, including hours without registrations
+        List<HourlyRegistrationsDTO> perHour = new ArrayList<>(windowHours);
+        LocalDateTime hour = currentHour().minusHours(windowHours - 1);
+        for (int i = 0; i < windowHours; i++, hour = hour.plusHours(1)) {
+            LongAdder registrations = registrationsByHour.get(hour);
+            perHour.add(new HourlyRegistrationsDTO(hour, registrations == null ? 0L : registrations.sum()));
+        }
+        
+        return new DashboardStatsDTO((long) fills.size(), byStatus, totalTeams, totalCapacity,
+                ratio(totalTeams, totalCapacity), readyForDraw, fills, perHour, LocalDateTime.now());
+    }
+    
+    private static double ratio(long teams, long capacity) {
+        return capacity == 0 ? 0.0 : (double) teams / capacity;
+    }
+    
+    private static LocalDateTime currentHour() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.ExportRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.format.DateTimeFormatter;
+
+// Writes exports straight from the database cursor to the response stream, one row at a time. Memory
+// use is one row plus the writer's buffer however many rows there are.
+@Service
+public class ExportService {
+    
+    @Autowired
+    private ExportRepository exportRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    public void exportTournaments(OutputStream out, RecordFormat format) throws IOException {
+        export(out, format, ExportRepository.TOURNAMENT_COLUMNS, exportRepository::streamTournaments);
+    }
+    
+    public void exportTeams(Long tournamentId, OutputStream out, RecordFormat format) throws IOException {
+        export(out, format, ExportRepository.TEAM_COLUMNS,
+                extractor -> exportRepository.streamTeams(tournamentId, extractor));
+    }
+    
+    public void exportGroupAssignments(Long tournamentId, OutputStream out, RecordFormat format) throws IOException {
+        export(out, format, ExportRepository.GROUP_ASSIGNMENT_COLUMNS,
+                extractor -> exportRepository.streamGroupAssignments(tournamentId, extractor));
+    }
+    
+    private interface Query {
+        void stream(ResultSetExtractor<?> extractor);
+    }
+    
+    private void export(OutputStream out, RecordFormat format, String[] columns, Query query) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        try {
+            if (format == RecordFormat.CSV) {
+                writeCsvRow(writer, columns);
+                query.stream(rs -> {
+                    String[] values = new String[columns.length];
+                    while (rs.next()) {
+                        for (int i = 0; i < columns.length; i++) {
+                            Object value = value(rs, i + 1);
+                            values[i] = value == null ? "" : value.toString();
+                        }
+                        write(() -> writeCsvRow(writer, values));
+                    }
+                    return null;
+                });
+            } else {
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                query.stream(rs -> {
+                    while (rs.next()) {
+                        write(() -> writeJsonRow(generator, columns, rs));
+                    }
+                    return null;
+                });
+                generator.flush();
+            }
+        } catch (UncheckedIOException e) {
+            // Usually the client went away mid-download; the query has already been closed
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+    
+    private interface IoAction {
+        void run() throws IOException, SQLException;
+    }
+    
+    // Lets the JDBC callbacks, which may only throw SQLException, pass write failures through
+    private static void write(IoAction action) throws SQLException {
+        try {
+            action.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private void writeJsonRow(JsonGenerator generator, String[] columns, ResultSet rs) throws IOException, SQLException {
+        generator.writeStartObject();
+        for (int i = 0; i < columns.length; i++) {
+            Object value = value(rs, i + 1);
+            generator.writeFieldName(columns[i]);
+            if (value == null) {
+                generator.writeNull();
+            } else if (value instanceof Number) {
+                generator.writeNumber(((Number) value).longValue());
+            } else {
+                generator.writeString(value.toString());
+            }
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+    
+    // Timestamps are written like the API writes LocalDateTime, e.g. 2024-05-01T10:00:00; unlike
+    // LocalDateTime.toString() that keeps zero seconds
+    private static Object value(ResultSet rs, int column) throws SQLException {
+        Object value = rs.getObject(column);
+        if (value instanceof Timestamp) {
+            return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(((Timestamp) value).toLocalDateTime());
+        }
+        return value;
+    }
+    
+    private static void writeCsvRow(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String value = values[i];
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.demo.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Round-robin fixtures by the circle method: one position stays fixed and the others rotate one place per
+// round, which pairs every two teams exactly once in n - 1 rounds (n rounded up to even). With an odd number
+// of teams the fixed position is a bye, so one team rests each round. The fixed pairing switches home side
+// every round and the others by position, which keeps every team's home and away games within one of each
+// other and leaves the minimum of n - 2 breaks (two home or two away games in a row), none for odd groups.
+@Component
+public class FixtureGenerator {
+    
+    @Data
+    @AllArgsConstructor
+    public static class Fixture {
+        // 1-based
+        private int round;
+        private long homeTeamId;
+        private long awayTeamId;
+    }
+    
+    public List<Fixture> roundRobin(List<Long> teamIds) {
+        int teams = teamIds.size();
+        int n = teams + teams % 2;
+        Long[] positions = new Long[n];
+        int offset = n - teams;
+        for (int i = 0; i < teams; i++) {
+            positions[i + offset] = teamIds.get(i);
+        }
+        
+        List<Fixture> fixtures = new ArrayList<>(teams * (teams - 1) / 2);
+        for (int round = 0; round < n - 1; round++) {
+            for (int i = 0; i < n / 2; i++) {
+                Long first = positions[i];
+                Long second = positions[n - 1 - i];
+                if (first == null || second == null) {
+                    continue;
+                }
+                boolean firstAtHome = i == 0 ? round % 2 == 0 : i % 2 == 0;
+                fixtures.add(firstAtHome
+                        ? new Fixture(round + 1, first, second)
+                        : new Fixture(round + 1, second, first));
+            }
+            // Every position but the fixed one moves one place on
+            Long last = positions[n - 1];
+            System.arraycopy(positions, 1, positions, 2, n - 2);
+            positions[1] = last;
+        }
+        return fixtures;
+    }
+}
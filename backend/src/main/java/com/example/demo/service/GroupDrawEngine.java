@@ -0,0 +1,205 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.TeamDrawEntry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+// In-memory group draw. Teams are drawn pot by pot and dealt level by level: every group receives
+// one team before any group receives a second, which keeps sizes within one of each other and
+// spreads each seeding pot across the groups. Within a level a team goes to the first open group
+// that has no team from the same creator yet, moving a team already placed at that level if needed.
+// When creators are spread out the first open group almost always fits and a draw is close to
+// O(teams); a team that needs a repair costs O(groups^2), so the worst case is O(teams * groups^2).
+// The draw is fully determined by the seed, so it can be replayed from the stored seed.
+@Component
+public class GroupDrawEngine {
+    
+    @Data
+    @AllArgsConstructor
+    public static class DrawResult {
+        private long seed;
+        // Team ids per group, in group order
+        private List<List<Long>> groups;
+        // Teams that had to share a group with a team from the same creator
+        private int creatorConflicts;
+    }
+    
+    public DrawResult draw(List<TeamDrawEntry> teams, int numberOfGroups, List<List<Long>> pots,
+                           boolean separateCreators, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<TeamDrawEntry> sequence = drawOrder(teams, pots, separateCreators, random);
+        
+        List<List<Long>> groups = new ArrayList<>(numberOfGroups);
+        List<Map<Long, Integer>> creatorsPerGroup = new ArrayList<>(numberOfGroups);
+        for (int i = 0; i < numberOfGroups; i++) {
+            groups.add(new ArrayList<>(teams.size() / numberOfGroups + 1));
+            creatorsPerGroup.add(new HashMap<>());
+        }
+        
+        // Groups that have not yet received a team at the current level, and the teams placed so far at it
+        int[] open = new int[numberOfGroups];
+        int openCount = 0;
+        TeamDrawEntry[] levelTeam = new TeamDrawEntry[numberOfGroups];
+        int conflicts = 0;
+        
+        for (TeamDrawEntry team : sequence) {
+            if (openCount == 0) {
+                for (int i = 0; i < numberOfGroups; i++) {
+                    open[i] = i;
+                }
+                shuffle(open, random);
+                openCount = numberOfGroups;
+                Arrays.fill(levelTeam, null);
+            }
+            
+            int pick = 0;
+            if (separateCreators) {
+                while (pick < openCount && hasCreator(creatorsPerGroup, open[pick], team.getCreatorId())) {
+                    pick++;
+                }
+                if (pick == openCount) {
+                    pick = repair(team, groups, creatorsPerGroup, open, openCount, levelTeam);
+                }
+                if (pick < 0) {
+                    // No placement at this level avoids sharing a group with the same creator
+                    pick = 0;
+                    conflicts++;
+                }
+            }
+            
+            int group = open[pick];
+            open[pick] = open[--openCount];
+            place(team, group, groups, creatorsPerGroup, levelTeam);
+        }
+        
+        return new DrawResult(seed, groups, conflicts);
+    }
+    
+    // Every open group already has this creator. Look for a group filled at this level whose team can
+    // move to an open group, freeing its slot for the current team. Returns the index into open of the
+    // group that the current team should now take, or -1 if no single move helps.
+    private int repair(TeamDrawEntry team, List<List<Long>> groups, List<Map<Long, Integer>> creatorsPerGroup,
+                       int[] open, int openCount, TeamDrawEntry[] levelTeam) {
+        for (int filled = 0; filled < levelTeam.length; filled++) {
+            TeamDrawEntry moved = levelTeam[filled];
+            if (moved == null || hasCreator(creatorsPerGroup, filled, team.getCreatorId())) {
+                continue;
+            }
+            for (int i = 0; i < openCount; i++) {
+                if (!hasCreator(creatorsPerGroup, open[i], moved.getCreatorId())) {
+                    // Take the moved team out of its group and put it into the open one
+                    List<Long> members = groups.get(filled);
+                    members.remove(members.size() - 1);
+                    creatorsPerGroup.get(filled).merge(moved.getCreatorId(), -1, (x, y) -> x + y == 0 ? null : x + y);
+                    levelTeam[filled] = null;
+                    int target = open[i];
+                    open[i] = filled;
+                    place(moved, target, groups, creatorsPerGroup, levelTeam);
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+    
+    private static void place(TeamDrawEntry team, int group, List<List<Long>> groups,
+                              List<Map<Long, Integer>> creatorsPerGroup, TeamDrawEntry[] levelTeam) {
+        groups.get(group).add(team.getTeamId());
+        creatorsPerGroup.get(group).merge(team.getCreatorId(), 1, Integer::sum);
+        levelTeam[group] = team;
+    }
+    
+    private static boolean hasCreator(List<Map<Long, Integer>> creatorsPerGroup, int group, Long creatorId) {
+        return creatorsPerGroup.get(group).containsKey(creatorId);
+    }
+    
+    // Group names A..Z, then AA..AZ, BA.. and so on, like spreadsheet columns
+    public static String groupName(int index) {
+        StringBuilder name = new StringBuilder();
+        for (int n = index + 1; n > 0; n = (n - 1) / 26) {
+            name.append((char) ('A' + (n - 1) % 26));
+        }
+        return "Group " + name.reverse();
+    }
+    
+    // Pots in the given order, each shuffled, followed by every team not placed in a pot
+    private List<TeamDrawEntry> drawOrder(List<TeamDrawEntry> teams, List<List<Long>> pots,
+                                          boolean separateCreators, SplittableRandom random) {
+        Map<Long, TeamDrawEntry> byId = new HashMap<>(teams.size() * 2);
+        for (TeamDrawEntry team : teams) {
+            byId.put(team.getTeamId(), team);
+        }
+        
+        List<TeamDrawEntry> sequence = new ArrayList<>(teams.size());
+        Set<Long> seeded = new HashSet<>();
+        if (pots != null) {
+            for (List<Long> pot : pots) {
+                List<TeamDrawEntry> potTeams = new ArrayList<>(pot.size());
+                for (Long teamId : pot) {
+                    TeamDrawEntry team = byId.get(teamId);
+                    if (team == null) {
+                        throw new RuntimeException("Pot contains a team that is not in this tournament: " + teamId);
+                    }
+                    if (!seeded.add(teamId)) {
+                        throw new RuntimeException("Team " + teamId + " appears in more than one pot");
+                    }
+                    potTeams.add(team);
+                }
+                shuffle(potTeams, random);
+                sequence.addAll(separateCreators ? groupByCreator(potTeams) : potTeams);
+            }
+        }
+        
+        // Sort before shuffling so the result depends only on the seed, not on query order
+        List<TeamDrawEntry> unseeded = new ArrayList<>(teams.size() - seeded.size());
+        for (TeamDrawEntry team : teams) {
+            if (!seeded.contains(team.getTeamId())) {
+                unseeded.add(team);
+            }
+        }
+        unseeded.sort(Comparator.comparing(TeamDrawEntry::getTeamId));
+        shuffle(unseeded, random);
+        sequence.addAll(separateCreators ? groupByCreator(unseeded) : unseeded);
+        return sequence;
+    }
+    
+    // Keeps the shuffled order but makes each creator's teams consecutive. Dealt level by level, a run of
+    // up to numberOfGroups teams then lands in distinct groups, which pure first-fit cannot guarantee
+    private static List<TeamDrawEntry> groupByCreator(List<TeamDrawEntry> shuffled) {
+        Map<Long, List<TeamDrawEntry>> byCreator = new LinkedHashMap<>();
+        for (TeamDrawEntry team : shuffled) {
+            byCreator.computeIfAbsent(team.getCreatorId(), k -> new ArrayList<>()).add(team);
+        }
+        List<TeamDrawEntry> ordered = new ArrayList<>(shuffled.size());
+        byCreator.values().forEach(ordered::addAll);
+        return ordered;
+    }
+    
+    private static <T> void shuffle(List<T> list, SplittableRandom random) {
+        for (int i = list.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            list.set(j, list.set(i, list.get(j)));
+        }
+    }
+    
+    private static void shuffle(int[] array, SplittableRandom random) {
+        for (int i = array.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
+        }
+    }
+}
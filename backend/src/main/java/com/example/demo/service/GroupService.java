@@ -1,20 +1,28 @@
 package com.example.demo.service;
 
 import com.example.demo.dto.AssignTeamsToGroupRequest;
+import com.example.demo.dto.TeamDrawEntry;
+import com.example.demo.event.TournamentChangeEvent;
 import com.example.demo.entity.Group;
-import com.example.demo.entity.Team;
 import com.example.demo.entity.Tournament;
 import com.example.demo.entity.User;
+import com.example.demo.repository.GroupBulkRepository;
 import com.example.demo.repository.GroupRepository;
+import com.example.demo.repository.GroupStandingRepository;
+import com.example.demo.repository.KnockoutMatchRepository;
+import com.example.demo.repository.MatchRepository;
 import com.example.demo.repository.TeamRepository;
 import com.example.demo.repository.TournamentRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 public class GroupService {
@@ -28,12 +36,31 @@ public class GroupService {
     @Autowired
     private TeamRepository teamRepository;
     
+    @Autowired
+    private GroupBulkRepository groupBulkRepository;
+    
+    @Autowired
+    private MatchRepository matchRepository;
+    
+    @Autowired
+    private KnockoutMatchRepository knockoutMatchRepository;
+    
+    @Autowired
+    private GroupStandingRepository groupStandingRepository;
+    
+    @Autowired
+    private GroupDrawEngine groupDrawEngine;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     public List<Group> getGroupsByTournamentId(Long tournamentId) {
         return groupRepository.findByTournamentId(tournamentId);
     }
     
+    @Timed(value = "service.calls", histogram = true)
     @Transactional
-    public List<Group> assignTeamsToGroupsRandomly(AssignTeamsToGroupRequest request, User admin) {
+    public void assignTeamsToGroupsRandomly(AssignTeamsToGroupRequest request, User admin) {
         Tournament tournament = tournamentRepository.findById(request.getTournamentId())
             .orElseThrow(() -> new RuntimeException("Tournament not found"));
             
@@ -42,15 +69,14 @@ public class GroupService {
             throw new RuntimeException("Only administrators can assign teams to groups");
         }
         
-        // Check if tournament is full (has reached maxTeams)
-        List<Team> teams = teamRepository.findByTournament(tournament);
+        // Check if tournament is full (has reached maxTeams); only ids and creators are needed for the draw
+        List<TeamDrawEntry> teams = teamRepository.findDrawEntriesByTournamentId(tournament.getId());
         if (teams.size() < tournament.getMaxTeams()) {
             throw new RuntimeException("Tournament is not full yet. Current teams: " + teams.size() + ", Max teams: " + tournament.getMaxTeams());
         }
         
         // Check if groups already exist for this tournament
-        List<Group> existingGroups = groupRepository.findByTournamentId(request.getTournamentId());
-        if (!existingGroups.isEmpty()) {
+        if (groupRepository.existsByTournamentId(request.getTournamentId())) {
             throw new RuntimeException("Groups have already been created for this tournament");
         }
         
@@ -59,28 +85,30 @@ public class GroupService {
             throw new RuntimeException("Number of groups must be between 2 and " + teams.size());
         }
         
-        // Create groups
-        List<Group> groups = new ArrayList<>();
-        for (int i = 1; i <= request.getNumberOfGroups(); i++) {
-            Group group = new Group();
-            group.setName("Group "+String.valueOf((char)('A' + i - 1)));
-            group.setTournament(tournament);
-            groups.add(groupRepository.save(group));
-        }
-        
-        // Shuffle teams randomly
-        List<Team> shuffledTeams = new ArrayList<>(teams);
-        Collections.shuffle(shuffledTeams);
+        // Draw in memory first so invalid pots are rejected before anything is written
+        long seed = request.getSeed() != null ? request.getSeed() : ThreadLocalRandom.current().nextLong();
+        GroupDrawEngine.DrawResult draw = groupDrawEngine.draw(teams, request.getNumberOfGroups(),
+            request.getPots(), request.isSeparateCreators(), seed);
+        tournament.setDrawSeed(seed);
         
-        // Assign teams to groups in round-robin fashion
-        for (int i = 0; i < shuffledTeams.size(); i++) {
-            Team team = shuffledTeams.get(i);
-            Group group = groups.get(i % request.getNumberOfGroups());
-            team.setGroup(group);
-            teamRepository.save(team);
+        // Create groups in a single batch
+        List<String> groupNames = new ArrayList<>();
+        for (int i = 0; i < request.getNumberOfGroups(); i++) {
+            groupNames.add(GroupDrawEngine.groupName(i));
         }
+        List<Long> groupIds = groupBulkRepository.insertGroups(tournament.getId(), groupNames, LocalDateTime.now());
         
-        return groups;
+        // Flatten the draw into parallel team/group id lists and write it as one JDBC batch
+        List<Long> assignedTeamIds = new ArrayList<>(teams.size());
+        List<Long> assignedGroupIds = new ArrayList<>(teams.size());
+        for (int i = 0; i < draw.getGroups().size(); i++) {
+            for (Long teamId : draw.getGroups().get(i)) {
+                assignedTeamIds.add(teamId);
+                assignedGroupIds.add(groupIds.get(i));
+            }
+        }
+        groupBulkRepository.assignTeamsToGroups(assignedTeamIds, assignedGroupIds);
+        eventPublisher.publishEvent(TournamentChangeEvent.groupsDrawn(tournament.getId(), groupIds.size()));
     }
     
     @Transactional
@@ -90,10 +118,16 @@ public class GroupService {
             throw new RuntimeException("Tournament not found");
         }
             
-        // First, remove all group associations from teams in this tournament
+        // Fixtures, standings and the knockout stage drawn from them belong to the groups and go with them
+        knockoutMatchRepository.deleteByTournamentId(tournamentId);
+        groupStandingRepository.deleteByTournamentId(tournamentId);
+        matchRepository.deleteByTournamentId(tournamentId);
+        
+        // Then remove all group associations from teams in this tournament
         teamRepository.clearGroupAssignmentsByTournamentId(tournamentId);
         
         // Then delete all groups for this tournament
         groupRepository.deleteByTournamentId(tournamentId);
+        eventPublisher.publishEvent(TournamentChangeEvent.groupsCleared(tournamentId));
     }
 }
@@ -0,0 +1,101 @@
+package com.example.demo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Completed responses of requests sent with an Idempotency-Key, bounded by body size and TTL. A key is owned
+// by one request at a time: duplicates that arrive while it runs wait on its future instead of executing
+// again, and get its response once it completes. If the owner gives up without a response (a failure that a
+// retry might not repeat), one of the waiters takes the key over and runs the request itself.
+@Component
+public class IdempotencyStore {
+    
+    @Data
+    @AllArgsConstructor
+    public static class StoredResponse {
+        // Method, path, query string and body hash of the original request; a key reused for another
+        // request is an error
+        private String fingerprint;
+        private int status;
+        private String contentType;
+        private byte[] body;
+    }
+    
+    private final Cache<String, StoredResponse> completed;
+    
+    // Completed with the response, or with null when the owner released the key without one
+    private final ConcurrentMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    
+    public IdempotencyStore(@Value("${idempotency.cache.max-size:32MB}") DataSize maxSize,
+                            @Value("${idempotency.cache.ttl:24h}") Duration ttl) {
+        this.completed = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, StoredResponse response) -> key.length() + response.getFingerprint().length()
+                        + response.getBody().length)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+    
+    // Returns the stored response for the key, waiting up to maxWait for a request that holds it. Null means
+    // the caller now holds the key and must call complete or release
+    public StoredResponse acquire(String key, Duration maxWait) throws InterruptedException, TimeoutException {
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        while (true) {
+            StoredResponse response = completed.getIfPresent(key);
+            if (response != null) {
+                return response;
+            }
+            CompletableFuture<StoredResponse> claim = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(key, claim);
+            if (running == null) {
+                // The previous owner may have stored its response between the lookup and the claim
+                response = completed.getIfPresent(key);
+                if (response != null) {
+                    inFlight.remove(key, claim);
+                    claim.complete(response);
+                }
+                return response;
+            }
+            try {
+                response = running.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                response = null;
+            }
+            if (response != null) {
+                return response;
+            }
+        }
+    }
+    
+    public void complete(String key, StoredResponse response) {
+        completed.put(key, response);
+        CompletableFuture<StoredResponse> claim = inFlight.remove(key);
+        if (claim != null) {
+            claim.complete(response);
+        }
+    }
+    
+    public void release(String key) {
+        CompletableFuture<StoredResponse> claim = inFlight.remove(key);
+        if (claim != null) {
+            claim.complete(null);
+        }
+    }
+    
+    public long size() {
+        return completed.estimatedSize();
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.KnockoutMatchDTO;
+import com.example.demo.dto.MatchResultRequest;
+import com.example.demo.dto.StandingDTO;
+import com.example.demo.entity.KnockoutMatch;
+import com.example.demo.entity.Team;
+import com.example.demo.entity.User;
+import com.example.demo.event.TournamentChangeEvent;
+import com.example.demo.repository.GroupStandingRepository;
+import com.example.demo.repository.KnockoutMatchRepository;
+import com.example.demo.repository.MatchBulkRepository;
+import com.example.demo.repository.MatchRepository;
+import com.example.demo.repository.TournamentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+// Knockout stage drawn from the final group standings. The bracket is stored as one row per match in heap
+// order (see KnockoutMatch), created all at once; a result fills the winner into the match it feeds, so the
+// next round appears as soon as both of its feeders are decided. Byes are decided when the bracket is drawn.
+@Service
+public class KnockoutService {
+    
+    @Autowired
+    private KnockoutMatchRepository knockoutMatchRepository;
+    
+    @Autowired
+    private MatchRepository matchRepository;
+    
+    @Autowired
+    private MatchBulkRepository matchBulkRepository;
+    
+    @Autowired
+    private GroupStandingRepository groupStandingRepository;
+    
+    @Autowired
+    private TournamentRepository tournamentRepository;
+    
+    @Autowired
+    private BracketSeeder bracketSeeder;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Value("${knockout.qualifiers-per-group:2}")
+    private int defaultQualifiersPerGroup;
+    
+    // Returns the bracket size (a power of two; missing entrants are byes)
+    @Transactional
+    public int generateBracket(Long tournamentId, Integer qualifiersPerGroup, User admin) {
+        if (!admin.getRole().equals(User.Role.ADMIN)) {
+            throw new RuntimeException("Only administrators can draw the knockout stage");
+        }
+        int qualifiers = qualifiersPerGroup != null ? qualifiersPerGroup : defaultQualifiersPerGroup;
+        if (qualifiers < 1) {
+            throw new RuntimeException("At least one team per group must qualify");
+        }
+        // Serializes with fixture generation and other draws for this tournament until commit
+        if (tournamentRepository.lockTeamSlots(tournamentId) == 0) {
+            throw new RuntimeException("Tournament not found");
+        }
+        if (!matchRepository.existsByTournamentId(tournamentId)) {
+            throw new RuntimeException("Fixtures have not been generated for this tournament");
+        }
+        long unplayed = matchRepository.countUnplayedByTournamentId(tournamentId);
+        if (unplayed > 0) {
+            throw new RuntimeException("The group stage is not finished: " + unplayed + " matches have no result");
+        }
+        if (knockoutMatchRepository.existsByTournamentId(tournamentId)) {
+            throw new RuntimeException("The knockout stage has already been drawn for this tournament");
+        }
+        
+        List<BracketSeeder.Qualifier> qualified = new ArrayList<>();
+        for (StandingDTO standing : groupStandingRepository.findProjectionsByTournamentId(tournamentId)) {
+            if (standing.getPosition() <= qualifiers) {
+                qualified.add(new BracketSeeder.Qualifier(standing.getTeamId(), standing.getGroupId(),
+                        standing.getPosition(), standing.getPoints(), standing.getGoalDifference(),
+                        standing.getGoalsFor()));
+            }
+        }
+        List<BracketSeeder.Qualifier> entrants = bracketSeeder.seed(qualified);
+        
+        // teamAt[s] is the team that comes out of slot s: the entrant for leaves (size..2 * size - 1),
+        // the winner for matches, which at this point is only known when a first-round opponent is a bye
+        int size = entrants.size();
+        int rounds = Integer.numberOfTrailingZeros(size);
+        Long[] teamAt = new Long[2 * size];
+        for (int i = 0; i < size; i++) {
+            BracketSeeder.Qualifier entrant = entrants.get(i);
+            teamAt[size + i] = entrant != null ? entrant.getTeamId() : null;
+        }
+        List<Long[]> matches = new ArrayList<>(size - 1);
+        for (int slot = size - 1; slot >= 1; slot--) {
+            Long home = teamAt[2 * slot];
+            Long away = teamAt[2 * slot + 1];
+            int round = rounds - (31 - Integer.numberOfLeadingZeros(slot));
+            if (round == 1 && (home == null || away == null)) {
+                teamAt[slot] = home != null ? home : away;
+            }
+            matches.add(new Long[] { (long) slot, (long) round, home, away, teamAt[slot] });
+        }
+        matchBulkRepository.insertKnockoutMatches(tournamentId, matches, LocalDateTime.now());
+        
+        eventPublisher.publishEvent(TournamentChangeEvent.knockoutDrawn(tournamentId, size));
+        return size;
+    }
+    
+    @Transactional
+    public void deleteBracket(Long tournamentId, User admin) {
+        if (!admin.getRole().equals(User.Role.ADMIN)) {
+            throw new RuntimeException("Only administrators can delete the knockout stage");
+        }
+        if (!tournamentRepository.existsById(tournamentId)) {
+            throw new RuntimeException("Tournament not found");
+        }
+        knockoutMatchRepository.deleteByTournamentId(tournamentId);
+        eventPublisher.publishEvent(TournamentChangeEvent.knockoutCleared(tournamentId));
+    }
+    
+    @Transactional
+    public void recordResult(Long matchId, MatchResultRequest request, User admin) {
+        if (!admin.getRole().equals(User.Role.ADMIN)) {
+            throw new RuntimeException("Only administrators can record results");
+        }
+        if (request.getHomeScore() == null || request.getAwayScore() == null
+                || request.getHomeScore() < 0 || request.getAwayScore() < 0) {
+            throw new RuntimeException("Both scores are required and cannot be negative");
+        }
+        if (request.getHomeScore().equals(request.getAwayScore())) {
+            throw new RuntimeException("A knockout match needs a winner");
+        }
+        changeResult(matchId, request.getHomeScore(), request.getAwayScore());
+    }
+    
+    @Transactional
+    public void clearResult(Long matchId, User admin) {
+        if (!admin.getRole().equals(User.Role.ADMIN)) {
+            throw new RuntimeException("Only administrators can clear results");
+        }
+        changeResult(matchId, null, null);
+    }
+    
+    private void changeResult(Long matchId, Integer homeScore, Integer awayScore) {
+        KnockoutMatch match = knockoutMatchRepository.findByIdForUpdate(matchId)
+                .orElseThrow(() -> new RuntimeException("Match not found"));
+        if (match.getHomeTeam() == null || match.getAwayTeam() == null) {
+            throw new RuntimeException("Both teams of this match are not known yet");
+        }
+        Team winner = homeScore == null ? null : homeScore > awayScore ? match.getHomeTeam() : match.getAwayTeam();
+        Long tournamentId = match.getTournament().getId();
+        
+        // A changed winner moves into (or out of) the next round, unless that match has already been played
+        if (match.getSlot() > 1 && !Objects.equals(teamId(match.getWinner()), teamId(winner))) {
+            KnockoutMatch next = knockoutMatchRepository.findBySlotForUpdate(tournamentId, match.getSlot() / 2)
+                    .orElseThrow(() -> new RuntimeException("Bracket is incomplete"));
+            if (next.getHomeScore() != null) {
+                throw new RuntimeException("The next round has already been played; clear its result first");
+            }
+            if (match.getSlot() % 2 == 0) {
+                next.setHomeTeam(winner);
+            } else {
+                next.setAwayTeam(winner);
+            }
+        }
+        match.setHomeScore(homeScore);
+        match.setAwayScore(awayScore);
+        match.setWinner(winner);
+        eventPublisher.publishEvent(TournamentChangeEvent.knockoutResultRecorded(tournamentId, matchId));
+    }
+    
+    private static Long teamId(Team team) {
+        return team != null ? team.getId() : null;
+    }
+    
+    public List<KnockoutMatchDTO> getBracket(Long tournamentId) {
+        return knockoutMatchRepository.findProjectionsByTournamentId(tournamentId);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.GroupTeamEntry;
+import com.example.demo.dto.MatchDTO;
+import com.example.demo.entity.User;
+import com.example.demo.event.TournamentChangeEvent;
+import com.example.demo.repository.GroupRepository;
+import com.example.demo.repository.GroupStandingRepository;
+import com.example.demo.repository.KnockoutMatchRepository;
+import com.example.demo.repository.MatchBulkRepository;
+import com.example.demo.repository.MatchRepository;
+import com.example.demo.repository.TeamRepository;
+import com.example.demo.repository.TournamentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class MatchService {
+    
+    // Fixtures held in memory before they are written; generation never holds more than this plus one group
+    private static final int WRITE_CHUNK = 10_000;
+    
+    @Autowired
+    private MatchRepository matchRepository;
+    
+    @Autowired
+    private KnockoutMatchRepository knockoutMatchRepository;
+    
+    @Autowired
+    private MatchBulkRepository matchBulkRepository;
+    
+    @Autowired
+    private TournamentRepository tournamentRepository;
+    
+    @Autowired
+    private GroupRepository groupRepository;
+    
+    @Autowired
+    private TeamRepository teamRepository;
+    
+    @Autowired
+    private GroupStandingRepository groupStandingRepository;
+    
+    @Autowired
+    private StandingsService standingsService;
+    
+    @Autowired
+    private FixtureGenerator fixtureGenerator;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    // Round-robin fixtures for every group of the tournament, computed in memory and written as JDBC batches
+    @Transactional
+    public int generateFixtures(Long tournamentId, User admin) {
+        if (!admin.getRole().equals(User.Role.ADMIN)) {
+            throw new RuntimeException("Only administrators can generate fixtures");
+        }
+        // Serializes concurrent generation (and registrations) for this tournament until commit
+        if (tournamentRepository.lockTeamSlots(tournamentId) == 0) {
+            throw new RuntimeException("Tournament not found");
+        }
+        if (!groupRepository.existsByTournamentId(tournamentId)) {
+            throw new RuntimeException("Groups have not been drawn for this tournament");
+        }
+        if (matchRepository.existsByTournamentId(tournamentId)) {
+            throw new RuntimeException("Fixtures have already been generated for this tournament");
+        }
+        
+        // Teams arrive ordered by group, so each group is one run of the list
+        List<GroupTeamEntry> entries = teamRepository.findGroupTeamEntriesByTournamentId(tournamentId);
+        LocalDateTime createdAt = LocalDateTime.now();
+        List<long[]> fixtures = new ArrayList<>();
+        int matchCount = 0;
+        List<Long> groupTeamIds = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            GroupTeamEntry entry = entries.get(i);
+            groupTeamIds.add(entry.getTeamId());
+            if (i + 1 == entries.size() || !entries.get(i + 1).getGroupId().equals(entry.getGroupId())) {
+                for (FixtureGenerator.Fixture fixture : fixtureGenerator.roundRobin(groupTeamIds)) {
+                    fixtures.add(new long[] { entry.getGroupId(), fixture.getRound(), fixture.getHomeTeamId(), fixture.getAwayTeamId() });
+                }
+                groupTeamIds.clear();
+                if (fixtures.size() >= WRITE_CHUNK) {
+                    matchBulkRepository.insertMatches(tournamentId, fixtures, createdAt);
+                    matchCount += fixtures.size();
+                    fixtures.clear();
+                }
+            }
+        }
+        matchBulkRepository.insertMatches(tournamentId, fixtures, createdAt);
+        matchCount += fixtures.size();
+        // Every drawn team starts on an empty row, so results can be applied incrementally from the first one
+        standingsService.recomputeStandings(tournamentId, null);
+        
+        eventPublisher.publishEvent(TournamentChangeEvent.fixturesGenerated(tournamentId, matchCount));
+        return matchCount;
+    }
+    
+    @Transactional
+    public void deleteFixtures(Long tournamentId, User admin) {
+        if (!admin.getRole().equals(User.Role.ADMIN)) {
+            throw new RuntimeException("Only administrators can delete fixtures");
+        }
+        if (!tournamentRepository.existsById(tournamentId)) {
+            throw new RuntimeException("Tournament not found");
+        }
+        // The knockout stage was drawn from these results
+        knockoutMatchRepository.deleteByTournamentId(tournamentId);
+        groupStandingRepository.deleteByTournamentId(tournamentId);
+        matchRepository.deleteByTournamentId(tournamentId);
+        eventPublisher.publishEvent(TournamentChangeEvent.fixturesCleared(tournamentId));
+    }
+    
+    public List<MatchDTO> getMatchesByTournament(Long tournamentId) {
+        return matchRepository.findProjectionsByTournamentId(tournamentId);
+    }
+}
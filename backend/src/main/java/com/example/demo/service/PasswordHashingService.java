@@ -0,0 +1,113 @@
+package com.example.demo.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// BCrypt runs on its own small pool instead of the request threads, so a login burst cannot starve
+// the rest of the API. The queue is bounded: once it is full new work is rejected immediately and
+// callers answer 503 with Retry-After rather than letting requests pile up.
+@Service
+public class PasswordHashingService {
+    
+    private final PasswordEncoder passwordEncoder;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+    private final Duration retryAfter;
+    private final LongAdder rejected = new LongAdder();
+    
+    // Compared against when the user does not exist, so unknown usernames take as long as wrong passwords
+    private final String dummyHash;
+    
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  @Value("${security.bcrypt.strength:10}") int strength,
+                                  @Value("${security.hashing.threads:0}") int threads,
+                                  @Value("${security.hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${security.hashing.retry-after:2s}") Duration retryAfter) {
+        this.passwordEncoder = passwordEncoder;
+        this.strength = strength;
+        this.retryAfter = retryAfter;
+        
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.dummyHash = passwordEncoder.encode("dummy-password-for-timing");
+    }
+    
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+    
+    // A null hash (unknown user) never matches but costs the same as a real comparison
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        return submit(() -> {
+            if (encodedPassword == null) {
+                passwordEncoder.matches(rawPassword, dummyHash);
+                return false;
+            }
+            return passwordEncoder.matches(rawPassword, encodedPassword);
+        });
+    }
+    
+    // True when the stored hash was made with a different cost than the configured one, in either direction
+    public boolean needsRehash(String encodedPassword) {
+        // BCrypt hashes look like $2a$10$..., with the cost in the third field
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(3) != '$') {
+            return false;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6)) != strength;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+    
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+    
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "poolSize", executor.getPoolSize(),
+                "active", executor.getActiveCount(),
+                "queued", executor.getQueue().size(),
+                "queueCapacity", executor.getQueue().size() + executor.getQueue().remainingCapacity(),
+                "completed", executor.getCompletedTaskCount(),
+                "rejected", rejected.sum(),
+                "strength", strength
+        );
+    }
+    
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
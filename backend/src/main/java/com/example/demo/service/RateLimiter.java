@@ -0,0 +1,124 @@
+package com.example.demo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token buckets per route policy and client. A bucket holds `capacity` tokens and regains one every
+// `refillPeriod`. It is kept as a single timestamp (the generic cell rate algorithm): the time at which the
+// bucket would be full again. A request takes a token with one compare-and-set, so checking a limit
+// takes no lock. Each policy has its own bucket cache keyed by the client string, so finding the bucket
+// builds no key of its own. Buckets idle for longer than it takes to refill are full again and are
+// evicted; a new bucket behaves exactly the same.
+@Component
+public class RateLimiter {
+    
+    @Getter
+    public static final class Policy {
+        private final String name;
+        private final int capacity;
+        private final long refillPeriodNanos;
+        // Keyed by client IP rather than by user, for routes used before a user is known
+        private final boolean perIp;
+        @Getter(AccessLevel.NONE)
+        private final Cache<String, Bucket> buckets;
+        
+        Policy(String name, int capacity, Duration refillPeriod, boolean perIp, long maxClients, Duration idleEviction) {
+            if (capacity < 1 || refillPeriod.isNegative() || refillPeriod.isZero()) {
+                throw new IllegalArgumentException("Rate limit policy " + name + " needs a capacity and a refill period");
+            }
+            this.name = name;
+            this.capacity = capacity;
+            this.refillPeriodNanos = refillPeriod.toNanos();
+            this.perIp = perIp;
+            // Evicting a bucket before it has refilled would hand its client a fresh burst
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxClients)
+                    .expireAfterAccess(Duration.ofNanos(Math.max(idleEviction.toNanos(), fullRefillNanos())))
+                    .build();
+        }
+        
+        long fullRefillNanos() {
+            return capacity * refillPeriodNanos;
+        }
+    }
+    
+    static final class Bucket {
+        // Time (System.nanoTime) at which the bucket is full again; at or before now means full
+        private final AtomicLong fullAt;
+        
+        Bucket(long now) {
+            this.fullAt = new AtomicLong(now);
+        }
+        
+        // 0 if a token was taken, otherwise the nanoseconds until one is available
+        long tryAcquire(Policy policy, long now) {
+            long burst = policy.fullRefillNanos();
+            while (true) {
+                long current = fullAt.get();
+                long base = Math.max(current, now);
+                long next = base + policy.refillPeriodNanos;
+                if (next - now > burst) {
+                    return next - now - burst;
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+    
+    private final Policy auth;
+    private final Policy bulk;
+    private final Policy search;
+    private final Policy standard;
+    
+    public RateLimiter(@Value("${ratelimit.auth.capacity:10}") int authCapacity,
+                       @Value("${ratelimit.auth.refill-period:6s}") Duration authRefill,
+                       @Value("${ratelimit.bulk.capacity:3}") int bulkCapacity,
+                       @Value("${ratelimit.bulk.refill-period:20s}") Duration bulkRefill,
+                       @Value("${ratelimit.search.capacity:30}") int searchCapacity,
+                       @Value("${ratelimit.search.refill-period:100ms}") Duration searchRefill,
+                       @Value("${ratelimit.default.capacity:120}") int defaultCapacity,
+                       @Value("${ratelimit.default.refill-period:10ms}") Duration defaultRefill,
+                       @Value("${ratelimit.max-clients:100000}") long maxClients,
+                       @Value("${ratelimit.idle-eviction:10m}") Duration idleEviction) {
+        this.auth = new Policy("auth", authCapacity, authRefill, true, maxClients, idleEviction);
+        this.bulk = new Policy("bulk", bulkCapacity, bulkRefill, false, maxClients, idleEviction);
+        this.search = new Policy("search", searchCapacity, searchRefill, false, maxClients, idleEviction);
+        this.standard = new Policy("default", defaultCapacity, defaultRefill, false, maxClients, idleEviction);
+    }
+    
+    // Plain prefix checks, in order; this runs on every request
+    public Policy policyFor(String method, String path) {
+        if (path.startsWith("/api/auth/")) {
+            return auth;
+        }
+        if (path.startsWith("/api/admin/export") || path.equals("/api/teams/import")) {
+            return bulk;
+        }
+        if ("GET".equals(method) && (path.equals("/api/teams") || path.startsWith("/api/search"))) {
+            return search;
+        }
+        return standard;
+    }
+    
+    // 0 if the request may proceed, otherwise the nanoseconds until the client's next token
+    public long tryAcquire(Policy policy, String client) {
+        long now = System.nanoTime();
+        Bucket bucket = policy.buckets.get(client, key -> new Bucket(now));
+        return bucket.tryAcquire(policy, now);
+    }
+    
+    public long size() {
+        return List.of(auth, bulk, search, standard).stream()
+                .mapToLong(policy -> policy.buckets.estimatedSize()).sum();
+    }
+}
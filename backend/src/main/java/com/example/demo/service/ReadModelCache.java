@@ -0,0 +1,134 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.GroupDTO;
+import com.example.demo.dto.TeamDTO;
+import com.example.demo.dto.TournamentDTO;
+import com.example.demo.event.TournamentChangeEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+// Per-tournament DTOs built by ReadModelService. Each entry remembers the tournament content version it
+// was built at and only serves readers that saw the same version, so an entry written by a reload that
+// raced a commit can never be served as current. Entries are also dropped after every committed change
+// and are bounded by weight (roughly the number of teams they hold) and TTL.
+// Cached DTOs are shared between requests and must not be modified.
+@Component
+public class ReadModelCache {
+    
+    private static final class Versioned<T> {
+        final long version;
+        final T value;
+        final int weight;
+        
+        Versioned(long version, T value, int weight) {
+            this.version = version;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+    
+    private static final class View<T> {
+        final Cache<Long, Versioned<T>> entries;
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        
+        View(long maxWeight, Duration ttl) {
+            this.entries = Caffeine.newBuilder()
+                    .maximumWeight(maxWeight)
+                    .weigher((Long tournamentId, Versioned<T> entry) -> entry.weight)
+                    .expireAfterWrite(ttl)
+                    .build();
+        }
+        
+        T get(Long tournamentId, long version, Supplier<T> loader, ToIntFunction<T> weight) {
+            Versioned<T> cached = entries.getIfPresent(tournamentId);
+            if (cached != null && cached.version == version) {
+                hits.increment();
+                return cached.value;
+            }
+            misses.increment();
+            
+            T value = loader.get();
+            // A read joined to a writing transaction may see uncommitted rows that could still roll back
+            if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                return value;
+            }
+            // Never replace an entry built at a newer version
+            entries.asMap().merge(tournamentId, new Versioned<>(version, value, weight.applyAsInt(value)),
+                    (current, loaded) -> current.version > loaded.version ? current : loaded);
+            return value;
+        }
+        
+        Map<String, Object> stats() {
+            long hitCount = hits.sum();
+            long missCount = misses.sum();
+            long lookups = hitCount + missCount;
+            return Map.of(
+                    "hits", hitCount,
+                    "misses", missCount,
+                    "hitRate", lookups == 0 ? 0.0 : (double) hitCount / lookups,
+                    "size", entries.estimatedSize()
+            );
+        }
+    }
+    
+    private final View<TournamentDTO> tournaments;
+    private final View<List<TeamDTO>> teams;
+    private final View<List<GroupDTO>> groups;
+    
+    public ReadModelCache(@Value("${readmodel.cache.max-weight:100000}") long maxWeight,
+                          @Value("${readmodel.cache.ttl:10m}") Duration ttl) {
+        this.tournaments = new View<>(maxWeight, ttl);
+        this.teams = new View<>(maxWeight, ttl);
+        this.groups = new View<>(maxWeight, ttl);
+    }
+    
+    public TournamentDTO getTournament(Long tournamentId, long version, Supplier<TournamentDTO> loader) {
+        return tournaments.get(tournamentId, version, loader, tournament -> 1 + tournament.getTeams().size());
+    }
+    
+    public List<TeamDTO> getTeams(Long tournamentId, long version, Supplier<List<TeamDTO>> loader) {
+        return teams.get(tournamentId, version, loader, list -> 1 + list.size());
+    }
+    
+    public List<GroupDTO> getGroups(Long tournamentId, long version, Supplier<List<GroupDTO>> loader) {
+        return groups.get(tournamentId, version, loader,
+                list -> 1 + list.stream().mapToInt(group -> 1 + group.getTeams().size()).sum());
+    }
+    
+    // Covers every write path, including the bulk JPQL updates that bypass the persistence context
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTournamentChange(TournamentChangeEvent event) {
+        if (event.getType() == TournamentChangeEvent.Type.TOURNAMENT_CREATED) {
+            return;
+        }
+        evict(event.getTournamentId());
+    }
+    
+    public void evict(Long tournamentId) {
+        tournaments.entries.invalidate(tournamentId);
+        teams.entries.invalidate(tournamentId);
+        groups.entries.invalidate(tournamentId);
+    }
+    
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("tournaments", tournaments.stats());
+        stats.put("teams", teams.stats());
+        stats.put("groups", groups.stats());
+        return stats;
+    }
+}
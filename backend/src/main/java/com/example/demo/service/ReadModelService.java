@@ -0,0 +1,290 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.GroupDTO;
+import com.example.demo.dto.GroupProjection;
+import com.example.demo.dto.TeamDTO;
+import com.example.demo.dto.TeamPageDTO;
+import com.example.demo.dto.TeamProjection;
+import com.example.demo.dto.TeamSearchCriteria;
+import com.example.demo.dto.TournamentBasicDTO;
+import com.example.demo.dto.TournamentDTO;
+import com.example.demo.dto.TournamentPageDTO;
+import com.example.demo.dto.TournamentProjection;
+import com.example.demo.dto.TournamentVersion;
+import com.example.demo.entity.Tournament;
+import com.example.demo.repository.GroupRepository;
+import com.example.demo.repository.TeamRepository;
+import com.example.demo.repository.TeamSearchRepository;
+import com.example.demo.repository.TournamentRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Read side of the API: every response is assembled from constructor projections with a fixed
+// number of queries, so no lazy association is ever initialized while building DTOs.
+@Service
+@Transactional(readOnly = true)
+public class ReadModelService {
+    
+    @Autowired
+    private TournamentRepository tournamentRepository;
+    
+    @Autowired
+    private TeamRepository teamRepository;
+    
+    @Autowired
+    private TeamSearchRepository teamSearchRepository;
+    
+    @Autowired
+    private GroupRepository groupRepository;
+    
+    @Autowired
+    private DTOConversionService dtoConversionService;
+    
+    @Autowired
+    private ReadModelCache readModelCache;
+    
+    @Value("${tournaments.page.default-size:20}")
+    private int defaultPageSize;
+    
+    @Value("${tournaments.page.max-size:100}")
+    private int maxPageSize;
+    
+    @Value("${teams.page.default-size:20}")
+    private int defaultTeamPageSize;
+    
+    @Value("${teams.page.max-size:100}")
+    private int maxTeamPageSize;
+    
+    // Serves GET /api/tournaments/{id}; TournamentService.getTournamentById is only used inside its own writes
+    @Timed(value = "service.calls", histogram = true)
+    public TournamentDTO getTournament(Long id) {
+        return getTournament(id, getTournamentVersion(id));
+    }
+    
+    // For callers that already looked up the version, e.g. to answer a conditional GET
+    @Timed(value = "service.calls", histogram = true)
+    public TournamentDTO getTournament(Long id, TournamentVersion version) {
+        if (version == null) {
+            throw new RuntimeException("Tournament not found");
+        }
+        return readModelCache.getTournament(id, version.getContentVersion(), () -> loadTournament(id));
+    }
+    
+    private TournamentDTO loadTournament(Long id) {
+        TournamentProjection tournament = tournamentRepository.findProjectionById(id)
+                .orElseThrow(() -> new RuntimeException("Tournament not found"));
+        TournamentBasicDTO basic = dtoConversionService.convertToTournamentBasicDTO(tournament);
+        
+        List<TeamDTO> teams = teamRepository.findProjectionsByTournamentId(id).stream()
+                .map(team -> dtoConversionService.convertToTeamDTO(team, basic))
+                .collect(Collectors.toList());
+        return dtoConversionService.convertToTournamentDTO(tournament, teams);
+    }
+    
+    // Null when the tournament does not exist; callers then fall through to the normal read
+    public TournamentVersion getTournamentVersion(Long id) {
+        return tournamentRepository.findVersionById(id).orElse(null);
+    }
+    
+    public List<TournamentDTO> getAllTournaments() {
+        return toTournamentDTOs(tournamentRepository.findAllProjections());
+    }
+    
+    public TournamentPageDTO getTournamentPage(String cursor, Integer size, Tournament.Status status) {
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        // Fetch one extra row to know whether another page exists without a COUNT query
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        
+        List<TournamentProjection> tournaments;
+        if (cursor == null || cursor.isBlank()) {
+            tournaments = status == null
+                    ? tournamentRepository.findFirstPage(limit)
+                    : tournamentRepository.findFirstPageByStatus(status, limit);
+        } else {
+            String[] position = decodeCursor(cursor);
+            LocalDateTime createdAt = LocalDateTime.parse(position[0]);
+            Long id = Long.valueOf(position[1]);
+            tournaments = status == null
+                    ? tournamentRepository.findPageAfter(createdAt, id, limit)
+                    : tournamentRepository.findPageAfterByStatus(status, createdAt, id, limit);
+        }
+        
+        boolean hasMore = tournaments.size() > pageSize;
+        if (hasMore) {
+            tournaments = tournaments.subList(0, pageSize);
+        }
+        
+        List<TournamentDTO> tournamentDTOs = toTournamentDTOs(tournaments);
+        String nextCursor = null;
+        if (hasMore) {
+            TournamentProjection last = tournaments.get(tournaments.size() - 1);
+            nextCursor = encodeCursor(last.getCreatedAt(), last.getId());
+        }
+        return new TournamentPageDTO(tournamentDTOs, tournamentDTOs.size(), nextCursor);
+    }
+    
+    public TeamDTO getTeam(Long id) {
+        TeamProjection team = teamRepository.findProjectionById(id)
+                .orElseThrow(() -> new RuntimeException("Team not found"));
+        return toTeamDTOs(List.of(team)).get(0);
+    }
+    
+    public List<TeamDTO> getTeamsByTournament(Long tournamentId) {
+        return getTeamsByTournament(tournamentId, getTournamentVersion(tournamentId));
+    }
+    
+    public List<TeamDTO> getTeamsByTournament(Long tournamentId, TournamentVersion version) {
+        if (version == null) {
+            throw new RuntimeException("Tournament not found");
+        }
+        return readModelCache.getTeams(tournamentId, version.getContentVersion(), () -> loadTeamsByTournament(tournamentId));
+    }
+    
+    private List<TeamDTO> loadTeamsByTournament(Long tournamentId) {
+        TournamentProjection tournament = tournamentRepository.findProjectionById(tournamentId)
+                .orElseThrow(() -> new RuntimeException("Tournament not found"));
+        TournamentBasicDTO basic = dtoConversionService.convertToTournamentBasicDTO(tournament);
+        
+        return teamRepository.findProjectionsByTournamentId(tournamentId).stream()
+                .map(team -> dtoConversionService.convertToTeamDTO(team, basic))
+                .collect(Collectors.toList());
+    }
+    
+    public List<TeamDTO> getTeamsByCreator(Long userId) {
+        return toTeamDTOs(teamRepository.findProjectionsByCreatedById(userId));
+    }
+    
+    // Keyset pages in (createdAt, id) order, like getTournamentPage, with any combination of filters
+    public TeamPageDTO searchTeams(TeamSearchCriteria criteria, String cursor, Integer size) {
+        if (criteria.isUnassigned() && criteria.getGroupId() != null) {
+            throw new RuntimeException("groupId and unassigned cannot be combined");
+        }
+        int pageSize = size == null ? defaultTeamPageSize : Math.max(1, Math.min(size, maxTeamPageSize));
+        
+        LocalDateTime afterCreatedAt = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = decodeCursor(cursor);
+            afterCreatedAt = LocalDateTime.parse(position[0]);
+            afterId = Long.valueOf(position[1]);
+        }
+        List<TeamProjection> teams = teamSearchRepository.search(criteria, afterCreatedAt, afterId, pageSize + 1);
+        
+        boolean hasMore = teams.size() > pageSize;
+        if (hasMore) {
+            teams = teams.subList(0, pageSize);
+        }
+        
+        List<TeamDTO> teamDTOs = toTeamDTOs(teams);
+        String nextCursor = null;
+        if (hasMore) {
+            TeamProjection last = teams.get(teams.size() - 1);
+            nextCursor = encodeCursor(last.getCreatedAt(), last.getId());
+        }
+        return new TeamPageDTO(teamDTOs, teamDTOs.size(), nextCursor);
+    }
+    
+    public List<GroupDTO> getGroupsByTournament(Long tournamentId) {
+        return getGroupsByTournament(tournamentId, getTournamentVersion(tournamentId));
+    }
+    
+    public List<GroupDTO> getGroupsByTournament(Long tournamentId, TournamentVersion version) {
+        if (version == null) {
+            return List.of();
+        }
+        return readModelCache.getGroups(tournamentId, version.getContentVersion(), () -> loadGroupsByTournament(tournamentId));
+    }
+    
+    private List<GroupDTO> loadGroupsByTournament(Long tournamentId) {
+        List<GroupProjection> groups = groupRepository.findProjectionsByTournamentId(tournamentId);
+        if (groups.isEmpty()) {
+            return List.of();
+        }
+        
+        TournamentBasicDTO basic = tournamentRepository.findProjectionById(tournamentId)
+                .map(dtoConversionService::convertToTournamentBasicDTO)
+                .orElseThrow(() -> new RuntimeException("Tournament not found"));
+        
+        // Teams inside a group carry no group information to mirror the entity-based GroupDTO
+        Map<Long, List<TeamDTO>> teamsByGroup = teamRepository.findProjectionsByTournamentId(tournamentId).stream()
+                .filter(team -> team.getGroupId() != null)
+                .collect(Collectors.groupingBy(TeamProjection::getGroupId,
+                        Collectors.mapping(team -> {
+                            TeamDTO dto = dtoConversionService.convertToTeamDTO(team, basic);
+                            dto.setGroupId(null);
+                            dto.setGroupName(null);
+                            return dto;
+                        }, Collectors.toList())));
+        
+        return groups.stream()
+                .map(group -> dtoConversionService.convertToGroupDTO(group, teamsByGroup.getOrDefault(group.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+    
+    private List<TournamentDTO> toTournamentDTOs(List<TournamentProjection> tournaments) {
+        if (tournaments.isEmpty()) {
+            return List.of();
+        }
+        
+        Map<Long, TournamentBasicDTO> basics = tournaments.stream()
+                .collect(Collectors.toMap(TournamentProjection::getId, dtoConversionService::convertToTournamentBasicDTO));
+        
+        // Teams for every tournament on the page in one query
+        Map<Long, List<TeamDTO>> teamsByTournament = teamRepository.findProjectionsByTournamentIdIn(basics.keySet()).stream()
+                .collect(Collectors.groupingBy(TeamProjection::getTournamentId,
+                        Collectors.mapping(team -> dtoConversionService.convertToTeamDTO(team, basics.get(team.getTournamentId())),
+                                Collectors.toList())));
+        
+        return tournaments.stream()
+                .map(tournament -> dtoConversionService.convertToTournamentDTO(
+                        tournament, teamsByTournament.getOrDefault(tournament.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+    
+    private List<TeamDTO> toTeamDTOs(List<TeamProjection> teams) {
+        if (teams.isEmpty()) {
+            return List.of();
+        }
+        
+        // Each distinct tournament is loaded once, not once per team
+        Map<Long, TournamentBasicDTO> tournaments = tournamentRepository.findProjectionsByIdIn(
+                        teams.stream().map(TeamProjection::getTournamentId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(TournamentProjection::getId, dtoConversionService::convertToTournamentBasicDTO));
+        
+        return teams.stream()
+                .map(team -> dtoConversionService.convertToTeamDTO(team, tournaments.get(team.getTournamentId())))
+                .collect(Collectors.toList());
+    }
+    
+    private String encodeCursor(LocalDateTime createdAt, Long id) {
+        String position = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    // Returns {createdAt, id} as strings that are known to parse
+    private String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (position.length != 2) {
+                throw new IllegalArgumentException();
+            }
+            LocalDateTime.parse(position[0]);
+            Long.parseLong(position[1]);
+            return position;
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.demo.service;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+// Line-oriented formats used by the bulk team import and the exports
+public enum RecordFormat {
+    CSV(new MediaType("text", "csv")),
+    NDJSON(new MediaType("application", "x-ndjson"));
+    
+    private final MediaType mediaType;
+    
+    RecordFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+    
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+    
+    public String getExtension() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+    
+    public static RecordFormat fromMediaType(MediaType mediaType) {
+        for (RecordFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(mediaType)) {
+                return format;
+            }
+        }
+        throw new RuntimeException("Unsupported format: " + mediaType);
+    }
+    
+    public static RecordFormat fromName(String name) {
+        for (RecordFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new RuntimeException("Unsupported format: " + name);
+    }
+}
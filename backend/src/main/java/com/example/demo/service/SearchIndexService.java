@@ -0,0 +1,463 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.SearchDocument;
+import com.example.demo.dto.SearchResultDTO;
+import com.example.demo.entity.Team;
+import com.example.demo.event.TournamentChangeEvent;
+import com.example.demo.repository.TeamRepository;
+import com.example.demo.repository.TournamentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+// Name search over tournaments (name and description) and teams (name), answered from memory. Texts are
+// split into words and each word into trigrams ("  r", " re", "red", "ed " for "red"); every trigram
+// maps to a sorted int array of the documents containing it. A query is ranked by the share of its own
+// trigrams a document contains, so misspellings and word fragments still match, and its last word is
+// treated as a prefix the user is still typing. Descriptions are indexed up to a fixed length, which
+// bounds the memory held per document. The index is built at startup, follows committed changes through
+// TournamentChangeEvent and is rebuilt periodically to pick up changes made by other instances.
+@Service
+public class SearchIndexService {
+    
+    public enum Kind {
+        TOURNAMENT, TEAM
+    }
+    
+    private static final ThreadLocal<int[]> HITS = ThreadLocal.withInitial(() -> new int[0]);
+    
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    
+    // Postings encode (slot << 1) | field
+    private static final int NAME = 0;
+    private static final int DESCRIPTION = 1;
+    
+    @Autowired
+    private TournamentRepository tournamentRepository;
+    
+    @Autowired
+    private TeamRepository teamRepository;
+    
+    @Value("${search.index.max-description-length:500}")
+    private int maxDescriptionLength;
+    
+    @Value("${search.min-similarity:0.3}")
+    private double minSimilarity;
+    
+    @Value("${search.default-limit:10}")
+    private int defaultLimit;
+    
+    @Value("${search.max-limit:50}")
+    private int maxLimit;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+    // Changes applied while a rebuild is loading, replayed onto the new index before it is swapped in
+    private List<Consumer<Index>> pending;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+    
+    @Scheduled(initialDelayString = "${search.index.rebuild-interval:30m}", fixedDelayString = "${search.index.rebuild-interval:30m}")
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Index fresh = new Index();
+        boolean loaded = false;
+        try {
+            for (SearchDocument document : tournamentRepository.findSearchDocuments()) {
+                fresh.put(Kind.TOURNAMENT, document);
+            }
+            for (SearchDocument document : teamRepository.findSearchDocuments()) {
+                fresh.put(Kind.TEAM, document);
+            }
+            loaded = true;
+        } finally {
+            // A failed load keeps the current index
+            lock.writeLock().lock();
+            try {
+                if (loaded) {
+                    pending.forEach(change -> change.accept(fresh));
+                    index = fresh;
+                }
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTournamentChange(TournamentChangeEvent event) {
+        Long tournamentId = event.getTournamentId();
+        switch (event.getType()) {
+            case TOURNAMENT_CREATED, TOURNAMENT_UPDATED -> tournamentRepository.findSearchDocumentById(tournamentId)
+                    .ifPresent(document -> apply(target -> target.put(Kind.TOURNAMENT, document)));
+            case TOURNAMENT_DELETED -> apply(target -> target.removeTournament(tournamentId));
+            case TEAM_ADDED, TEAM_UPDATED -> {
+                SearchDocument document = new SearchDocument(event.getTeamId(), tournamentId, event.getTeamName());
+                apply(target -> target.put(Kind.TEAM, document));
+            }
+            case TEAM_REMOVED -> apply(target -> target.remove(Kind.TEAM, event.getTeamId()));
+            case TEAMS_IMPORTED -> {
+                List<SearchDocument> documents = teamRepository.findSearchDocumentsByTournamentId(tournamentId);
+                apply(target -> documents.forEach(document -> target.put(Kind.TEAM, document)));
+            }
+            default -> {
+            }
+        }
+    }
+    
+    private void apply(Consumer<Index> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // kind may be null to search both
+    public List<SearchResultDTO> search(String query, Kind kind, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new RuntimeException("Search query is required");
+        }
+        int resultLimit = limit == null ? defaultLimit : Math.max(1, Math.min(limit, maxLimit));
+        lock.readLock().lock();
+        try {
+            return index.search(query, kind, resultLimit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        for (String word : NON_WORD.split(Team.normalizeName(text))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+    
+    // Every word is padded with two leading blanks and one trailing blank, so word starts weigh more than
+    // inner trigrams. With partialLast the last word gets no trailing blank and matches as a prefix.
+    private static Set<String> trigrams(List<String> words, boolean partialLast) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int w = 0; w < words.size(); w++) {
+            boolean partial = partialLast && w == words.size() - 1;
+            String padded = "  " + words.get(w) + (partial ? "" : " ");
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+    
+    private static final class Postings {
+        final String trigram;
+        int[] values = new int[4];
+        int size;
+        
+        Postings(String trigram) {
+            this.trigram = trigram;
+        }
+        
+        void add(int value) {
+            int i = Arrays.binarySearch(values, 0, size, value);
+            if (i >= 0) {
+                return;
+            }
+            i = -i - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            System.arraycopy(values, i, values, i + 1, size - i);
+            values[i] = value;
+            size++;
+        }
+        
+        void remove(int value) {
+            int i = Arrays.binarySearch(values, 0, size, value);
+            if (i < 0) {
+                return;
+            }
+            System.arraycopy(values, i + 1, values, i, size - i - 1);
+            size--;
+            if (size > 4 && size * 4 <= values.length) {
+                values = Arrays.copyOf(values, values.length / 2);
+            }
+        }
+    }
+    
+    private static final class Document {
+        final Kind kind;
+        final long id;
+        final Long tournamentId;
+        final String name;
+        final String normalizedName;
+        // The postings this document was added to, so it can be removed without re-tokenizing
+        final Postings[] namePostings;
+        final Postings[] descriptionPostings;
+        
+        Document(Kind kind, long id, Long tournamentId, String name, Postings[] namePostings, Postings[] descriptionPostings) {
+            this.kind = kind;
+            this.id = id;
+            this.tournamentId = tournamentId;
+            this.name = name;
+            this.normalizedName = String.join(" ", words(name));
+            this.namePostings = namePostings;
+            this.descriptionPostings = descriptionPostings;
+        }
+    }
+    
+    // Ordered from worst to best: lower score, then longer name, then higher id
+    private static final class Match implements Comparable<Match> {
+        final Document document;
+        final double score;
+        
+        Match(Document document, double score) {
+            this.document = document;
+            this.score = score;
+        }
+        
+        static int compare(double score, Document document, double otherScore, Document otherDocument) {
+            int result = Double.compare(score, otherScore);
+            if (result == 0) {
+                result = Integer.compare(otherDocument.name.length(), document.name.length());
+            }
+            if (result == 0) {
+                result = Long.compare(otherDocument.id, document.id);
+            }
+            return result;
+        }
+        
+        @Override
+        public int compareTo(Match other) {
+            return compare(score, document, other.score, other.document);
+        }
+    }
+    
+    private final class Index {
+        final Map<String, Postings> postings = new HashMap<>();
+        final List<Document> slots = new ArrayList<>();
+        final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+        final Map<Long, Integer> tournamentSlots = new HashMap<>();
+        final Map<Long, Integer> teamSlots = new HashMap<>();
+        
+        Map<Long, Integer> slotsOf(Kind kind) {
+            return kind == Kind.TOURNAMENT ? tournamentSlots : teamSlots;
+        }
+        
+        void put(Kind kind, SearchDocument source) {
+            remove(kind, source.getId());
+            int slot = freeSlots.isEmpty() ? slots.size() : freeSlots.pop();
+            String description = source.getDescription();
+            if (description != null && description.length() > maxDescriptionLength) {
+                description = description.substring(0, maxDescriptionLength);
+            }
+            Postings[] namePostings = addPostings(trigrams(words(source.getName()), false), slot, NAME);
+            Postings[] descriptionPostings = addPostings(trigrams(words(description), false), slot, DESCRIPTION);
+            Document document = new Document(kind, source.getId(), source.getTournamentId(), source.getName(),
+                    namePostings, descriptionPostings);
+            if (slot == slots.size()) {
+                slots.add(document);
+            } else {
+                slots.set(slot, document);
+            }
+            slotsOf(kind).put(source.getId(), slot);
+        }
+        
+        private Postings[] addPostings(Set<String> trigrams, int slot, int field) {
+            Postings[] added = new Postings[trigrams.size()];
+            int i = 0;
+            for (String trigram : trigrams) {
+                Postings list = postings.computeIfAbsent(trigram, Postings::new);
+                list.add(slot << 1 | field);
+                added[i++] = list;
+            }
+            return added;
+        }
+        
+        void remove(Kind kind, Long id) {
+            Integer slot = slotsOf(kind).remove(id);
+            if (slot == null) {
+                return;
+            }
+            Document document = slots.get(slot);
+            removePostings(document.namePostings, slot, NAME);
+            removePostings(document.descriptionPostings, slot, DESCRIPTION);
+            slots.set(slot, null);
+            freeSlots.push(slot);
+        }
+        
+        private void removePostings(Postings[] lists, int slot, int field) {
+            for (Postings list : lists) {
+                list.remove(slot << 1 | field);
+                if (list.size == 0) {
+                    postings.remove(list.trigram);
+                }
+            }
+        }
+        
+        // Deleting a tournament deletes its teams; this is rare enough to find them with a scan
+        void removeTournament(Long tournamentId) {
+            remove(Kind.TOURNAMENT, tournamentId);
+            List<Long> teamIds = new ArrayList<>();
+            for (Document document : slots) {
+                if (document != null && document.kind == Kind.TEAM && tournamentId.equals(document.tournamentId)) {
+                    teamIds.add(document.id);
+                }
+            }
+            teamIds.forEach(id -> remove(Kind.TEAM, id));
+        }
+        
+        List<SearchResultDTO> search(String query, Kind kind, int limit) {
+            List<String> words = words(query);
+            Set<String> trigrams = trigrams(words, true);
+            if (trigrams.isEmpty()) {
+                return List.of();
+            }
+            String normalizedQuery = String.join(" ", words);
+            int queryTrigrams = trigrams.size();
+            
+            // A result needs at least `required` of the query's trigrams in one field, so it must appear in
+            // one of the queryTrigrams - required + 1 shortest lists (missing trigrams count as empty lists).
+            // Only those lists are scanned for candidates; the longer ones just add to the candidates' counts.
+            List<Postings> lists = new ArrayList<>(queryTrigrams);
+            for (String trigram : trigrams) {
+                Postings list = postings.get(trigram);
+                if (list != null) {
+                    lists.add(list);
+                }
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+            int required = Math.max(1, (int) Math.ceil(minSimilarity * queryTrigrams - 1e-9));
+            int candidateLists = Math.max(0, queryTrigrams - required + 1 - (queryTrigrams - lists.size()));
+            
+            // Matching trigrams per slot and field, and the slots that are candidates. The counts are reused
+            // across queries on the same thread and cleared again below.
+            int[] hits = HITS.get();
+            if (hits.length < slots.size() * 2) {
+                hits = new int[slots.size() * 2];
+                HITS.set(hits);
+            }
+            int[] candidates = new int[16];
+            int candidateCount = 0;
+            for (int l = 0; l < candidateLists; l++) {
+                Postings list = lists.get(l);
+                for (int i = 0; i < list.size; i++) {
+                    int value = list.values[i];
+                    int slot = value >>> 1;
+                    if (hits[slot << 1] == 0 && hits[slot << 1 | 1] == 0) {
+                        if (candidateCount == candidates.length) {
+                            candidates = Arrays.copyOf(candidates, candidateCount * 2);
+                        }
+                        candidates[candidateCount++] = slot;
+                    }
+                    hits[value]++;
+                }
+            }
+            for (int l = candidateLists; l < lists.size() && candidateCount > 0; l++) {
+                Postings list = lists.get(l);
+                if (list.size <= candidateCount * 16) {
+                    for (int i = 0; i < list.size; i++) {
+                        int value = list.values[i];
+                        int slot = value >>> 1;
+                        if (hits[slot << 1] != 0 || hits[slot << 1 | 1] != 0) {
+                            hits[value]++;
+                        }
+                    }
+                } else {
+                    for (int c = 0; c < candidateCount; c++) {
+                        int slot = candidates[c];
+                        for (int field = NAME; field <= DESCRIPTION; field++) {
+                            if (Arrays.binarySearch(list.values, 0, list.size, slot << 1 | field) >= 0) {
+                                hits[slot << 1 | field]++;
+                            }
+                        }
+                    }
+                }
+            }
+            
+            // Keeps the best matches seen so far, worst on top; a match is only allocated if it gets in
+            PriorityQueue<Match> best = new PriorityQueue<>(limit + 1);
+            for (int c = 0; c < candidateCount; c++) {
+                int slot = candidates[c];
+                Document document = slots.get(slot);
+                if (kind != null && document.kind != kind) {
+                    continue;
+                }
+                int nameHits = hits[slot << 1 | NAME];
+                int descriptionHits = hits[slot << 1 | DESCRIPTION];
+                double nameSimilarity = (double) nameHits / queryTrigrams;
+                double descriptionSimilarity = (double) descriptionHits / queryTrigrams;
+                if (Math.max(nameSimilarity, descriptionSimilarity) < minSimilarity) {
+                    continue;
+                }
+                // A description match counts half as much as a name match; exact prefixes and infixes
+                // of the name come first
+                double score = Math.max(nameSimilarity, descriptionSimilarity / 2);
+                if (document.normalizedName.startsWith(normalizedQuery)) {
+                    score += 0.5;
+                } else if (document.normalizedName.contains(normalizedQuery)) {
+                    score += 0.25;
+                }
+                if (best.size() == limit && Match.compare(score, document, best.peek().score, best.peek().document) <= 0) {
+                    continue;
+                }
+                best.add(new Match(document, score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            
+            for (int c = 0; c < candidateCount; c++) {
+                hits[candidates[c] << 1] = 0;
+                hits[candidates[c] << 1 | 1] = 0;
+            }
+            
+            List<SearchResultDTO> results = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                Match match = best.poll();
+                Document document = match.document;
+                results.add(new SearchResultDTO(document.kind.name(), document.id, document.tournamentId, document.name, match.score));
+            }
+            Collections.reverse(results);
+            return results;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.GroupTeamEntry;
+import com.example.demo.dto.MatchResultEntry;
+import com.example.demo.dto.MatchResultRequest;
+import com.example.demo.dto.StandingDTO;
+import com.example.demo.entity.GroupStanding;
+import com.example.demo.entity.Match;
+import com.example.demo.entity.User;
+import com.example.demo.event.TournamentChangeEvent;
+import com.example.demo.repository.GroupStandingRepository;
+import com.example.demo.repository.KnockoutMatchRepository;
+import com.example.demo.repository.MatchBulkRepository;
+import com.example.demo.repository.MatchRepository;
+import com.example.demo.repository.TeamRepository;
+import com.example.demo.repository.TournamentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Group tables kept in group_standings and updated incrementally: recording or correcting a result locks the
+// group's rows, takes back the old result and adds the new one through StandingsTable, and writes back only
+// the rows that changed. Reading standings is one indexed query. Recomputing from the matches only happens
+// on demand: when an administrator asks for it, or when a withdrawn team's matches are dropped.
+@Service
+public class StandingsService {
+    
+    @Autowired
+    private GroupStandingRepository groupStandingRepository;
+    
+    @Autowired
+    private MatchRepository matchRepository;
+    
+    @Autowired
+    private KnockoutMatchRepository knockoutMatchRepository;
+    
+    @Autowired
+    private MatchBulkRepository matchBulkRepository;
+    
+    @Autowired
+    private TeamRepository teamRepository;
+    
+    @Autowired
+    private TournamentRepository tournamentRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Transactional
+    public void recordResult(Long matchId, MatchResultRequest request, User admin) {
+        if (!admin.getRole().equals(User.Role.ADMIN)) {
+            throw new RuntimeException("Only administrators can record results");
+        }
+        if (request.getHomeScore() == null || request.getAwayScore() == null
+                || request.getHomeScore() < 0 || request.getAwayScore() < 0) {
+            throw new RuntimeException("Both scores are required and cannot be negative");
+        }
+        changeResult(matchId, request.getHomeScore(), request.getAwayScore());
+    }
+    
+    @Transactional
+    public void clearResult(Long matchId, User admin) {
+        if (!admin.getRole().equals(User.Role.ADMIN)) {
+            throw new RuntimeException("Only administrators can clear results");
+        }
+        changeResult(matchId, null, null);
+    }
+    
+    private void changeResult(Long matchId, Integer homeScore, Integer awayScore) {
+        Long groupId = matchRepository.findGroupIdById(matchId)
+                .orElseThrow(() -> new RuntimeException("Match not found"));
+        List<GroupStanding> standings = groupStandingRepository.findByGroupIdForUpdate(groupId);
+        if (standings.isEmpty()) {
+            throw new RuntimeException("Standings are missing for this group; rebuild them first");
+        }
+        // Read under the group's lock, so a concurrent correction of the same match is not lost
+        Match match = matchRepository.findById(matchId)
+                .orElseThrow(() -> new RuntimeException("Match not found"));
+        Long tournamentId = match.getTournament().getId();
+        // The bracket was seeded from the final tables, which a late correction would silently contradict
+        if (knockoutMatchRepository.existsByTournamentId(tournamentId)) {
+            throw new RuntimeException("The knockout stage has been drawn; delete it before changing group results");
+        }
+        Integer oldHomeScore = match.getHomeScore();
+        Integer oldAwayScore = match.getAwayScore();
+        match.setHomeScore(homeScore);
+        match.setAwayScore(awayScore);
+        
+        Map<Long, GroupStanding> standingsByTeam = new HashMap<>();
+        List<StandingsTable.Row> rows = new ArrayList<>(standings.size());
+        for (GroupStanding standing : standings) {
+            standingsByTeam.put(standing.getTeam().getId(), standing);
+            rows.add(toRow(standing));
+        }
+        // Head to head reads the group's results including this one; the query flushes the match first
+        StandingsTable table = StandingsTable.ranked(rows, () -> matchRepository.findResultsByGroupId(groupId));
+        table.changeResult(match.getHomeTeam().getId(), match.getAwayTeam().getId(),
+                oldHomeScore, oldAwayScore, homeScore, awayScore);
+        // Unchanged values leave the entity clean, so only the rows that moved or scored are updated
+        for (StandingsTable.Row row : table.getRows()) {
+            copy(row, standingsByTeam.get(row.getTeamId()));
+        }
+        
+        eventPublisher.publishEvent(TournamentChangeEvent.resultRecorded(tournamentId, matchId));
+    }
+    
+    @Transactional
+    public void rebuildStandings(Long tournamentId, User admin) {
+        if (!admin.getRole().equals(User.Role.ADMIN)) {
+            throw new RuntimeException("Only administrators can rebuild standings");
+        }
+        if (!tournamentRepository.existsById(tournamentId)) {
+            throw new RuntimeException("Tournament not found");
+        }
+        if (!matchRepository.existsByTournamentId(tournamentId)) {
+            throw new RuntimeException("Fixtures have not been generated for this tournament");
+        }
+        recomputeStandings(tournamentId, null);
+        eventPublisher.publishEvent(TournamentChangeEvent.standingsRebuilt(tournamentId));
+    }
+    
+    // Replaces the tournament's standings with ones computed from its drawn teams and recorded results,
+    // leaving out excludedTeamId (a team about to be deleted) if given
+    @Transactional
+    public void recomputeStandings(Long tournamentId, Long excludedTeamId) {
+        groupStandingRepository.deleteByTournamentId(tournamentId);
+        
+        Map<Long, List<StandingsTable.Row>> rowsByGroup = new LinkedHashMap<>();
+        Map<Long, StandingsTable.Row> rowsByTeam = new HashMap<>();
+        for (GroupTeamEntry entry : teamRepository.findGroupTeamEntriesByTournamentId(tournamentId)) {
+            if (entry.getTeamId().equals(excludedTeamId)) {
+                continue;
+            }
+            StandingsTable.Row row = new StandingsTable.Row(entry.getTeamId());
+            rowsByGroup.computeIfAbsent(entry.getGroupId(), id -> new ArrayList<>()).add(row);
+            rowsByTeam.put(entry.getTeamId(), row);
+        }
+        
+        Map<Long, List<MatchResultEntry>> resultsByGroup = new HashMap<>();
+        for (MatchResultEntry result : matchRepository.findResultsByTournamentId(tournamentId)) {
+            StandingsTable.Row home = rowsByTeam.get(result.getHomeTeamId());
+            StandingsTable.Row away = rowsByTeam.get(result.getAwayTeamId());
+            if (home == null || away == null) {
+                continue;
+            }
+            home.record(result.getHomeScore(), result.getAwayScore(), 1);
+            away.record(result.getAwayScore(), result.getHomeScore(), 1);
+            resultsByGroup.computeIfAbsent(result.getGroupId(), id -> new ArrayList<>()).add(result);
+        }
+        
+        List<long[]> standings = new ArrayList<>(rowsByTeam.size());
+        for (Map.Entry<Long, List<StandingsTable.Row>> group : rowsByGroup.entrySet()) {
+            List<MatchResultEntry> results = resultsByGroup.getOrDefault(group.getKey(), List.of());
+            for (StandingsTable.Row row : StandingsTable.compute(group.getValue(), () -> results).getRows()) {
+                standings.add(new long[] { group.getKey(), row.getTeamId(), row.getPlayed(), row.getWon(),
+                        row.getDrawn(), row.getLost(), row.getGoalsFor(), row.getGoalsAgainst(),
+                        row.getPoints(), row.getPosition() });
+            }
+        }
+        matchBulkRepository.insertStandings(tournamentId, standings);
+    }
+    
+    public List<StandingDTO> getStandingsByTournament(Long tournamentId) {
+        return groupStandingRepository.findProjectionsByTournamentId(tournamentId);
+    }
+    
+    public List<StandingDTO> getStandingsByGroup(Long groupId) {
+        return groupStandingRepository.findProjectionsByGroupId(groupId);
+    }
+    
+    private static StandingsTable.Row toRow(GroupStanding standing) {
+        StandingsTable.Row row = new StandingsTable.Row(standing.getTeam().getId());
+        row.setPlayed(standing.getPlayed());
+        row.setWon(standing.getWon());
+        row.setDrawn(standing.getDrawn());
+        row.setLost(standing.getLost());
+        row.setGoalsFor(standing.getGoalsFor());
+        row.setGoalsAgainst(standing.getGoalsAgainst());
+        row.setPoints(standing.getPoints());
+        row.setPosition(standing.getPosition());
+        return row;
+    }
+    
+    private static void copy(StandingsTable.Row row, GroupStanding standing) {
+        standing.setPlayed(row.getPlayed());
+        standing.setWon(row.getWon());
+        standing.setDrawn(row.getDrawn());
+        standing.setLost(row.getLost());
+        standing.setGoalsFor(row.getGoalsFor());
+        standing.setGoalsAgainst(row.getGoalsAgainst());
+        standing.setPoints(row.getPoints());
+        standing.setPosition(row.getPosition());
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.MatchResultEntry;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// One group's standings in rank order. Rows are kept sorted by points, goal difference and goals scored, so
+// a team's rank is a binary search and recording a result moves only the two teams involved instead of
+// re-sorting the group. Teams level on all three are ordered by the points, then goal difference, of the
+// matches among themselves (head to head), then by team id. Head-to-head needs the group's results, which
+// are only fetched when such a tie has to be broken.
+public class StandingsTable {
+    
+    public static final int POINTS_FOR_WIN = 3;
+    public static final int POINTS_FOR_DRAW = 1;
+    
+    @Data
+    public static class Row {
+        private final long teamId;
+        private int played;
+        private int won;
+        private int drawn;
+        private int lost;
+        private int goalsFor;
+        private int goalsAgainst;
+        private int points;
+        // 1-based rank within the group
+        private int position;
+        
+        public int getGoalDifference() {
+            return goalsFor - goalsAgainst;
+        }
+        
+        // Adds (sign 1) or takes back (sign -1) one result from this team's side
+        public void record(int scored, int conceded, int sign) {
+            played += sign;
+            goalsFor += sign * scored;
+            goalsAgainst += sign * conceded;
+            if (scored > conceded) {
+                won += sign;
+                points += sign * POINTS_FOR_WIN;
+            } else if (scored == conceded) {
+                drawn += sign;
+                points += sign * POINTS_FOR_DRAW;
+            } else {
+                lost += sign;
+            }
+        }
+    }
+    
+    private final List<Row> rows;
+    private final Map<Long, Row> rowsByTeam = new HashMap<>();
+    private final Supplier<List<MatchResultEntry>> results;
+    private List<MatchResultEntry> loadedResults;
+    
+    private StandingsTable(List<Row> rows, Supplier<List<MatchResultEntry>> results) {
+        this.rows = rows;
+        this.results = results;
+        for (Row row : rows) {
+            rowsByTeam.put(row.getTeamId(), row);
+        }
+    }
+    
+    // Ranks the rows from scratch
+    public static StandingsTable compute(Collection<Row> rows, Supplier<List<MatchResultEntry>> results) {
+        StandingsTable table = new StandingsTable(new ArrayList<>(rows), results);
+        table.rows.sort((a, b) -> {
+            int result = compareRecord(a, b.getPoints(), b.getGoalDifference(), b.getGoalsFor());
+            return result != 0 ? result : Long.compare(a.getTeamId(), b.getTeamId());
+        });
+        for (int i = 0; i < table.rows.size(); ) {
+            Row row = table.rows.get(i);
+            i = table.resolveTie(row.getPoints(), row.getGoalDifference(), row.getGoalsFor());
+        }
+        table.assignPositions();
+        return table;
+    }
+    
+    // Takes over rows already ranked by an earlier compute or changeResult, without re-sorting
+    public static StandingsTable ranked(Collection<Row> rows, Supplier<List<MatchResultEntry>> results) {
+        List<Row> ordered = new ArrayList<>(rows);
+        ordered.sort(Comparator.comparingInt(Row::getPosition));
+        return new StandingsTable(ordered, results);
+    }
+    
+    public List<Row> getRows() {
+        return rows;
+    }
+    
+    public Row getRow(long teamId) {
+        return rowsByTeam.get(teamId);
+    }
+    
+    // 1-based
+    public int rankOf(long teamId) {
+        Row row = rowsByTeam.get(teamId);
+        if (row == null) {
+            throw new RuntimeException("Team is not in this group");
+        }
+        return indexOf(row) + 1;
+    }
+    
+    // Takes back the previous result of a match (if any) and records the new one (if any). Positions are
+    // updated; only rows whose rank actually changes get a different position.
+    public void changeResult(long homeTeamId, long awayTeamId, Integer oldHomeScore, Integer oldAwayScore,
+                             Integer newHomeScore, Integer newAwayScore) {
+        Row home = rowsByTeam.get(homeTeamId);
+        Row away = rowsByTeam.get(awayTeamId);
+        if (home == null || away == null) {
+            throw new RuntimeException("Team is not in this group");
+        }
+        // Record keys whose tied run may need its head-to-head order redone, before and after the change
+        List<int[]> touched = new ArrayList<>(4);
+        touched.add(key(home));
+        touched.add(key(away));
+        
+        rows.remove(indexOf(home));
+        rows.remove(indexOf(away));
+        if (oldHomeScore != null && oldAwayScore != null) {
+            home.record(oldHomeScore, oldAwayScore, -1);
+            away.record(oldAwayScore, oldHomeScore, -1);
+        }
+        if (newHomeScore != null && newAwayScore != null) {
+            home.record(newHomeScore, newAwayScore, 1);
+            away.record(newAwayScore, newHomeScore, 1);
+        }
+        insert(home);
+        insert(away);
+        touched.add(key(home));
+        touched.add(key(away));
+        
+        // The match itself is now part of head to head
+        loadedResults = null;
+        for (int[] key : touched) {
+            resolveTie(key[0], key[1], key[2]);
+        }
+        assignPositions();
+    }
+    
+    private static int[] key(Row row) {
+        return new int[] { row.getPoints(), row.getGoalDifference(), row.getGoalsFor() };
+    }
+    
+    // Negative when the row ranks above the given record, zero when level on it
+    private static int compareRecord(Row row, int points, int goalDifference, int goalsFor) {
+        int result = Integer.compare(points, row.getPoints());
+        if (result == 0) {
+            result = Integer.compare(goalDifference, row.getGoalDifference());
+        }
+        if (result == 0) {
+            result = Integer.compare(goalsFor, row.getGoalsFor());
+        }
+        return result;
+    }
+    
+    // First index whose row does not rank above the record
+    private int lowerBound(int points, int goalDifference, int goalsFor) {
+        int low = 0;
+        int high = rows.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareRecord(rows.get(mid), points, goalDifference, goalsFor) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    // First index whose row ranks below the record
+    private int upperBound(int points, int goalDifference, int goalsFor) {
+        int low = 0;
+        int high = rows.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareRecord(rows.get(mid), points, goalDifference, goalsFor) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    // Binary search to the row's tied run, then a scan of that run (almost always one or two rows)
+    private int indexOf(Row row) {
+        int from = lowerBound(row.getPoints(), row.getGoalDifference(), row.getGoalsFor());
+        for (int i = from; i < rows.size(); i++) {
+            if (rows.get(i) == row) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Standings row missing for team " + row.getTeamId());
+    }
+    
+    private void insert(Row row) {
+        rows.add(upperBound(row.getPoints(), row.getGoalDifference(), row.getGoalsFor()), row);
+    }
+    
+    // Orders the run of rows level on the given record by head to head; returns the index after the run
+    private int resolveTie(int points, int goalDifference, int goalsFor) {
+        int from = lowerBound(points, goalDifference, goalsFor);
+        int to = upperBound(points, goalDifference, goalsFor);
+        if (to - from < 2) {
+            return Math.max(to, from + 1);
+        }
+        List<Row> tied = rows.subList(from, to);
+        Map<Long, int[]> headToHead = new HashMap<>();
+        for (Row row : tied) {
+            headToHead.put(row.getTeamId(), new int[2]);
+        }
+        if (loadedResults == null) {
+            loadedResults = results.get();
+        }
+        for (MatchResultEntry result : loadedResults) {
+            int[] home = headToHead.get(result.getHomeTeamId());
+            int[] away = headToHead.get(result.getAwayTeamId());
+            if (home == null || away == null) {
+                continue;
+            }
+            int homeScore = result.getHomeScore();
+            int awayScore = result.getAwayScore();
+            home[0] += homeScore > awayScore ? POINTS_FOR_WIN : homeScore == awayScore ? POINTS_FOR_DRAW : 0;
+            away[0] += awayScore > homeScore ? POINTS_FOR_WIN : homeScore == awayScore ? POINTS_FOR_DRAW : 0;
+            home[1] += homeScore - awayScore;
+            away[1] += awayScore - homeScore;
+        }
+        tied.sort(Comparator.<Row>comparingInt(row -> -headToHead.get(row.getTeamId())[0])
+                .thenComparingInt(row -> -headToHead.get(row.getTeamId())[1])
+                .thenComparingLong(Row::getTeamId));
+        return to;
+    }
+    
+    private void assignPositions() {
+        for (int i = 0; i < rows.size(); i++) {
+            rows.get(i).setPosition(i + 1);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.demo.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Reads teams one record at a time from a CSV or NDJSON stream, so an import never holds more than one
+// record of its input in memory. CSV follows RFC 4180 quoting and may start with a header naming the
+// "name" and "description" columns; without one the first two columns are used. NDJSON records are
+// objects with "name" and optional "description" fields. Oversized or malformed records are returned
+// with an error instead of failing the whole import.
+class TeamImportReader {
+    
+    static class Record {
+        final long line;
+        final String name;
+        final String description;
+        final String error;
+        
+        Record(long line, String name, String description, String error) {
+            this.line = line;
+            this.name = name;
+            this.description = description;
+            this.error = error;
+        }
+    }
+    
+    private final BufferedReader reader;
+    private final RecordFormat format;
+    private final int maxRecordLength;
+    private final ObjectMapper objectMapper;
+    
+    private long line = 1;
+    private int pushedBack = -2;
+    private boolean started;
+    private boolean headerChecked;
+    private int nameColumn = 0;
+    private int descriptionColumn = 1;
+    
+    TeamImportReader(Reader reader, RecordFormat format, int maxRecordLength, ObjectMapper objectMapper) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        this.format = format;
+        this.maxRecordLength = maxRecordLength;
+        this.objectMapper = objectMapper;
+    }
+    
+    // Returns null once the input is exhausted; blank lines are skipped
+    Record next() throws IOException {
+        if (!started) {
+            started = true;
+            int first = read();
+            if (first != '\uFEFF') {
+                pushedBack = first;
+            }
+        }
+        return format == RecordFormat.CSV ? nextCsv() : nextJson();
+    }
+    
+    private Record nextCsv() throws IOException {
+        while (true) {
+            long recordLine = line;
+            List<String> fields = new ArrayList<>();
+            Boolean complete = readCsvFields(fields);
+            if (complete == null) {
+                return null;
+            }
+            if (complete && fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            // The first record is a header if one of its columns is called "name"
+            if (!headerChecked) {
+                headerChecked = true;
+                if (complete && useHeader(fields)) {
+                    continue;
+                }
+            }
+            return toRecord(recordLine, fields, complete);
+        }
+    }
+    
+    private boolean useHeader(List<String> fields) {
+        List<String> columns = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            columns.add(field.strip().toLowerCase(Locale.ROOT));
+        }
+        if (!columns.contains("name")) {
+            return false;
+        }
+        nameColumn = columns.indexOf("name");
+        descriptionColumn = columns.indexOf("description");
+        return true;
+    }
+    
+    private Record toRecord(long recordLine, List<String> fields, boolean complete) {
+        if (!complete) {
+            return new Record(recordLine, null, null, "Record exceeds " + maxRecordLength + " characters");
+        }
+        String name = nameColumn < fields.size() ? fields.get(nameColumn) : null;
+        String description = descriptionColumn >= 0 && descriptionColumn < fields.size() ? fields.get(descriptionColumn) : null;
+        return new Record(recordLine, name, description == null || description.isEmpty() ? null : description, null);
+    }
+    
+    // Reads one CSV record into fields. Returns null at end of input, false when the record was too long
+    // (the rest of it is consumed and dropped) and true otherwise
+    private Boolean readCsvFields(List<String> fields) throws IOException {
+        StringBuilder field = new StringBuilder();
+        int length = 0;
+        boolean quoted = false;
+        boolean any = false;
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                if (!any) {
+                    return null;
+                }
+                break;
+            }
+            any = true;
+            if (quoted) {
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                        length++;
+                    } else {
+                        quoted = false;
+                        pushedBack = following;
+                    }
+                    continue;
+                }
+                if (c == '\n') {
+                    line++;
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+                continue;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                continue;
+            } else if (c == '\r') {
+                continue;
+            } else if (c == '\n') {
+                line++;
+                break;
+            }
+            if (++length > maxRecordLength) {
+                skipRestOfLine(quoted);
+                return false;
+            }
+            field.append((char) c);
+        }
+        fields.add(field.toString());
+        return true;
+    }
+    
+    private Record nextJson() throws IOException {
+        while (true) {
+            long recordLine = line;
+            StringBuilder text = new StringBuilder();
+            boolean tooLong = false;
+            int c;
+            while ((c = read()) != -1 && c != '\n') {
+                if (text.length() >= maxRecordLength) {
+                    tooLong = true;
+                    skipRestOfLine(false);
+                    break;
+                }
+                text.append((char) c);
+            }
+            if (c == -1 && text.length() == 0 && !tooLong) {
+                return null;
+            }
+            // skipRestOfLine has already counted the line break of an oversized record
+            if (tooLong) {
+                return new Record(recordLine, null, null, "Record exceeds " + maxRecordLength + " characters");
+            }
+            line++;
+            if (text.toString().isBlank()) {
+                continue;
+            }
+            try {
+                JsonNode node = objectMapper.readTree(text.toString());
+                if (!node.isObject()) {
+                    return new Record(recordLine, null, null, "Expected a JSON object");
+                }
+                return new Record(recordLine, textOrNull(node.get("name")), textOrNull(node.get("description")), null);
+            } catch (JsonProcessingException e) {
+                return new Record(recordLine, null, null, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+    
+    private static String textOrNull(JsonNode node) {
+        return node == null || node.isNull() ? null : node.asText();
+    }
+    
+    private void skipRestOfLine(boolean quoted) throws IOException {
+        int c;
+        while ((c = read()) != -1) {
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == '\n') {
+                line++;
+                if (!quoted) {
+                    return;
+                }
+            }
+        }
+    }
+    
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+}
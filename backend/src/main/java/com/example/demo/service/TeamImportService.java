@@ -0,0 +1,131 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.TeamImportReport;
+import com.example.demo.dto.TeamImportRowResult;
+import com.example.demo.dto.TeamRequest;
+import com.example.demo.entity.Team;
+import com.example.demo.entity.User;
+import com.example.demo.repository.TeamRepository;
+import com.example.demo.repository.TournamentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Bulk team import. The upload is parsed as a stream and checked record by record; only rows that can
+// still fit in the tournament are kept, so memory is bounded by the tournament's capacity rather than
+// the size of the upload. The kept rows are then written by TeamService.importTeams in one short
+// transaction, which re-checks them against the current names and capacity. Parsing happens outside
+// that transaction, so a slow upload never holds a database connection or the tournament's row lock.
+@Service
+public class TeamImportService {
+    
+    private static final int MAX_NAME_LENGTH = 255;
+    
+    @Autowired
+    private TeamService teamService;
+    
+    @Autowired
+    private TournamentRepository tournamentRepository;
+    
+    @Autowired
+    private TeamRepository teamRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${teams.import.max-record-length:4096}")
+    private int maxRecordLength;
+    
+    @Value("${teams.import.max-report-rows:1000}")
+    private int maxReportRows;
+    
+    public TeamImportReport importTeams(Long tournamentId, Reader input, RecordFormat format, User createdBy) throws IOException {
+        if (createdBy.getRole().equals(User.Role.ADMIN)) {
+            throw new RuntimeException("Administrators cannot create teams. Only regular users can create teams.");
+        }
+        int remaining = tournamentRepository.findRemainingCapacity(tournamentId)
+                .orElseThrow(() -> new RuntimeException("Tournament not found"));
+        // Existing names are known up front so they do not take up candidate slots
+        Set<String> existingNames = new HashSet<>(teamRepository.findNormalizedNamesByTournamentId(tournamentId));
+        
+        TeamImportReport report = new TeamImportReport();
+        report.setTournamentId(tournamentId);
+        List<TeamRequest> candidates = new ArrayList<>();
+        List<Long> candidateLines = new ArrayList<>();
+        // Normalized name -> line of the candidate that uses it
+        Map<String, Long> candidateNames = new HashMap<>();
+        
+        TeamImportReader reader = new TeamImportReader(input, format, maxRecordLength, objectMapper);
+        TeamImportReader.Record record;
+        while ((record = reader.next()) != null) {
+            report.setTotalRows(report.getTotalRows() + 1);
+            String error = record.error;
+            String normalizedName = null;
+            if (error == null && (record.name == null || record.name.isBlank())) {
+                error = "Team name is required";
+            } else if (error == null && record.name.length() > MAX_NAME_LENGTH) {
+                error = "Team name must be at most " + MAX_NAME_LENGTH + " characters";
+            } else if (error == null) {
+                normalizedName = Team.normalizeName(record.name);
+                Long firstLine = candidateNames.get(normalizedName);
+                if (existingNames.contains(normalizedName)) {
+                    error = "Team name already exists in this tournament";
+                } else if (firstLine != null) {
+                    error = "Team name duplicates line " + firstLine;
+                } else if (candidates.size() >= remaining) {
+                    error = "Tournament is full";
+                }
+            }
+            
+            if (error != null) {
+                reject(report, new TeamImportRowResult(record.line, record.name, false, null, error));
+                continue;
+            }
+            TeamRequest request = new TeamRequest();
+            request.setName(record.name);
+            request.setDescription(record.description);
+            request.setTournamentId(tournamentId);
+            candidates.add(request);
+            candidateLines.add(record.line);
+            candidateNames.put(normalizedName, record.line);
+        }
+        
+        if (!candidates.isEmpty()) {
+            List<TeamImportRowResult> results = teamService.importTeams(tournamentId, candidates, createdBy);
+            for (int i = 0; i < results.size(); i++) {
+                TeamImportRowResult result = results.get(i);
+                result.setLine(candidateLines.get(i));
+                if (Boolean.TRUE.equals(result.getImported())) {
+                    report.setImported(report.getImported() + 1);
+                    report.getRows().add(result);
+                } else {
+                    reject(report, result);
+                }
+            }
+        }
+        report.getRows().sort(Comparator.comparing(TeamImportRowResult::getLine));
+        return report;
+    }
+    
+    // Imported rows are always reported (there are at most as many as the tournament has slots);
+    // rejected rows only up to the configured limit
+    private void reject(TeamImportReport report, TeamImportRowResult result) {
+        report.setRejected(report.getRejected() + 1);
+        if (report.getRejected() <= maxReportRows) {
+            report.getRows().add(result);
+        } else {
+            report.setTruncated(true);
+        }
+    }
+}
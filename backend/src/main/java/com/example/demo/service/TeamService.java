@@ -3,14 +3,30 @@ package com.example.demo.service;
 import com.example.demo.entity.Team;
 import com.example.demo.entity.Tournament;
 import com.example.demo.entity.User;
+import com.example.demo.repository.GroupStandingRepository;
+import com.example.demo.repository.KnockoutMatchRepository;
+import com.example.demo.repository.MatchRepository;
 import com.example.demo.repository.TeamRepository;
 import com.example.demo.repository.TournamentRepository;
+import com.example.demo.dto.TeamImportRowResult;
 import com.example.demo.dto.TeamRequest;
+import com.example.demo.repository.TeamBulkRepository;
+import com.example.demo.event.TournamentChangeEvent;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class TeamService {
@@ -21,25 +37,46 @@ public class TeamService {
     @Autowired
     private TournamentRepository tournamentRepository;
     
+    @Autowired
+    private TeamBulkRepository teamBulkRepository;
+    
+    @Autowired
+    private MatchRepository matchRepository;
+    
+    @Autowired
+    private KnockoutMatchRepository knockoutMatchRepository;
+    
+    @Autowired
+    private GroupStandingRepository groupStandingRepository;
+    
+    @Autowired
+    private StandingsService standingsService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Value("${teams.import.batch-size:500}")
+    private int importBatchSize;
+    
+    @Timed(value = "service.calls", histogram = true)
+    @Transactional
     public Team createTeam(TeamRequest request, User createdBy) {
         // Ensure only regular users (not admins) can create teams
         if (createdBy.getRole().equals(User.Role.ADMIN)) {
             throw new RuntimeException("Administrators cannot create teams. Only regular users can create teams.");
         }
         
-        Tournament tournament = tournamentRepository.findById(request.getTournamentId())
-                .orElseThrow(() -> new RuntimeException("Tournament not found"));
+        // Only the id is needed to link the team; the tournament row is never loaded
+        Tournament tournament = tournamentRepository.getReferenceById(request.getTournamentId());
         
-        // Check if tournament is full
-        if (tournament.getTeams().size() >= tournament.getMaxTeams()) {
+        // Reserve a slot right before the insert so the tournament row stays locked only until commit
+        if (tournamentRepository.reserveTeamSlot(request.getTournamentId()) == 0) {
+            if (!tournamentRepository.existsById(request.getTournamentId())) {
+                throw new RuntimeException("Tournament not found");
+            }
             throw new RuntimeException("Tournament is full");
         }
         
-        // Check if team name already exists in tournament
-        if (teamRepository.existsByNameAndTournament(request.getName(), tournament)) {
-            throw new RuntimeException("Team name already exists in this tournament");
-        }
-        
         Team team = new Team();
         team.setName(request.getName());
         team.setDescription(request.getDescription());
@@ -47,7 +84,73 @@ public class TeamService {
         team.setCreatedBy(createdBy);
         team.setCreatedAt(LocalDateTime.now());
         
-        return teamRepository.save(team);
+        // Name uniqueness is enforced by the unique index on (tournament_id, normalized_name)
+        Team saved = saveAndCheckName(team);
+        eventPublisher.publishEvent(TournamentChangeEvent.teamAdded(request.getTournamentId(), saved.getId(), saved.getName()));
+        return saved;
+    }
+    
+    // Creates already-parsed teams in JDBC batches. Names and capacity are checked in memory against one
+    // snapshot taken under the tournament's row lock, so no per-team queries are needed. Returns one
+    // result per request, in order, with either the new team id or the reason it was rejected
+    @Transactional
+    public List<TeamImportRowResult> importTeams(Long tournamentId, List<TeamRequest> requests, User createdBy) {
+        if (createdBy.getRole().equals(User.Role.ADMIN)) {
+            throw new RuntimeException("Administrators cannot create teams. Only regular users can create teams.");
+        }
+        if (tournamentRepository.lockTeamSlots(tournamentId) == 0) {
+            throw new RuntimeException("Tournament not found");
+        }
+        int remaining = tournamentRepository.findRemainingCapacity(tournamentId).orElse(0);
+        Set<String> taken = new HashSet<>(teamRepository.findNormalizedNamesByTournamentId(tournamentId));
+        
+        List<TeamImportRowResult> results = new ArrayList<>(requests.size());
+        List<String[]> batch = new ArrayList<>();
+        List<TeamImportRowResult> batchResults = new ArrayList<>();
+        int imported = 0;
+        LocalDateTime createdAt = LocalDateTime.now();
+        for (TeamRequest request : requests) {
+            TeamImportRowResult result = new TeamImportRowResult(null, request.getName(), false, null, null);
+            results.add(result);
+            String normalizedName = Team.normalizeName(request.getName());
+            if (!taken.add(normalizedName)) {
+                result.setError("Team name already exists in this tournament");
+            } else if (imported + batch.size() >= remaining) {
+                result.setError("Tournament is full");
+            } else {
+                batch.add(new String[] { request.getName(), normalizedName, request.getDescription() });
+                batchResults.add(result);
+                if (batch.size() == importBatchSize) {
+                    imported += insertImportBatch(tournamentId, createdBy, batch, batchResults, createdAt);
+                }
+            }
+        }
+        imported += insertImportBatch(tournamentId, createdBy, batch, batchResults, createdAt);
+        
+        if (imported > 0) {
+            eventPublisher.publishEvent(TournamentChangeEvent.teamsImported(tournamentId, imported));
+        }
+        return results;
+    }
+    
+    private int insertImportBatch(Long tournamentId, User createdBy, List<String[]> batch,
+                                  List<TeamImportRowResult> batchResults, LocalDateTime createdAt) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        // Cannot fail while the row lock is held and capacity was checked above
+        if (tournamentRepository.reserveTeamSlots(tournamentId, batch.size()) == 0) {
+            throw new RuntimeException("Tournament is full");
+        }
+        Map<String, Long> ids = teamBulkRepository.insertTeams(tournamentId, createdBy.getId(), batch, createdAt);
+        for (int i = 0; i < batch.size(); i++) {
+            batchResults.get(i).setImported(true);
+            batchResults.get(i).setTeamId(ids.get(batch.get(i)[1]));
+        }
+        int inserted = batch.size();
+        batch.clear();
+        batchResults.clear();
+        return inserted;
     }
     
     public List<Team> getAllTeams() {
@@ -69,6 +172,7 @@ public class TeamService {
                 .orElseThrow(() -> new RuntimeException("Team not found"));
     }
     
+    @Transactional
     public Team updateTeam(Long id, TeamRequest request, User user) {
         Team team = getTeamById(id);
         
@@ -78,18 +182,48 @@ public class TeamService {
             throw new RuntimeException("You can only update teams that you created");
         }
         
-        // Check if new name conflicts with existing team in tournament
-        if (!team.getName().equals(request.getName()) && 
-            teamRepository.existsByNameAndTournament(request.getName(), team.getTournament())) {
-            throw new RuntimeException("Team name already exists in this tournament");
-        }
-        
         team.setName(request.getName());
         team.setDescription(request.getDescription());
         
-        return teamRepository.save(team);
+        Team saved = saveAndCheckName(team);
+        eventPublisher.publishEvent(TournamentChangeEvent.teamUpdated(team.getTournament().getId(), id, saved.getName()));
+        return saved;
     }
     
+    // Flushes so a duplicate name surfaces here as the usual error rather than at commit
+    private Team saveAndCheckName(Team team) {
+        try {
+            return teamRepository.saveAndFlush(team);
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateName(e)) {
+                throw new RuntimeException("Team name already exists in this tournament");
+            }
+            throw e;
+        }
+    }
+    
+    private boolean isDuplicateName(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(Team.UNIQUE_NAME_CONSTRAINT);
+    }
+    
+    // Fills normalized_name for rows written before the column existed. Rows whose name clashes with
+    // an earlier team in the same tournament are left empty and get a value when next renamed
+    @Transactional
+    public int backfillNormalizedNames() {
+        Set<String> taken = new HashSet<>(teamRepository.findNormalizedNameKeys());
+        int updated = 0;
+        for (Team team : teamRepository.findWithoutNormalizedName()) {
+            String normalizedName = Team.normalizeName(team.getName());
+            if (taken.add(team.getTournament().getId() + ":" + normalizedName)) {
+                team.setNormalizedName(normalizedName);
+                updated++;
+            }
+        }
+        return updated;
+    }
+    
+    @Transactional
     public void deleteTeam(Long id, User user) {
         Team team = getTeamById(id);
         
@@ -99,6 +233,19 @@ public class TeamService {
             throw new RuntimeException("You can only delete teams that you created");
         }
         
+        if (knockoutMatchRepository.existsByTeamId(id)) {
+            throw new RuntimeException("This team is in the knockout stage and cannot be deleted");
+        }
+        
+        // A withdrawn team's fixtures are dropped; the rest of its group's schedule stands. Its results
+        // no longer count, so the standings are recomputed without it
+        Long tournamentId = team.getTournament().getId();
+        matchRepository.deleteByTeamId(id);
+        if (groupStandingRepository.existsByTournamentId(tournamentId)) {
+            standingsService.recomputeStandings(tournamentId, id);
+        }
         teamRepository.delete(team);
+        tournamentRepository.releaseTeamSlot(team.getTournament().getId());
+        eventPublisher.publishEvent(TournamentChangeEvent.teamRemoved(team.getTournament().getId(), id));
     }
 }
\ No newline at end of file
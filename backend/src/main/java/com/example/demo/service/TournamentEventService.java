@@ -0,0 +1,338 @@
+package com.example.demo.service;
+
+import com.example.demo.event.TournamentChangeEvent;
+import com.example.demo.repository.TournamentRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Live change feed per tournament over Server-Sent Events. Connections are parked async requests,
+// so idle subscribers cost no threads; one dispatcher thread serializes each event once and queues
+// it for every subscriber. A short per-tournament history lets reconnecting clients catch up from
+// their Last-Event-ID.
+//
+// Writes are blocking, so they never happen on the dispatcher or under a channel lock: each subscriber
+// has a bounded queue that a small writer pool drains. A client that stops reading holds one writer
+// until the container's write timeout fails the send, and is dropped as soon as its queue fills, so it
+// cannot hold up other subscribers or other tournaments.
+@Service
+public class TournamentEventService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TournamentEventService.class);
+    
+    // Sent instead of a replay when the client's last event is no longer buffered; clients should refetch
+    private static final String RESYNC_EVENT = "RESYNC";
+    
+    @Autowired
+    private TournamentRepository tournamentRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${sse.emitter-timeout:30m}")
+    private Duration emitterTimeout;
+    
+    @Value("${sse.reconnect-time:3s}")
+    private Duration reconnectTime;
+    
+    @Value("${sse.replay-buffer-size:256}")
+    private int replayBufferSize;
+    
+    @Value("${sse.subscriber-queue-size:256}")
+    private int subscriberQueueSize;
+    
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+    
+    // Seeded from the clock so ids keep increasing across restarts and stale Last-Event-IDs are detected
+    private final AtomicLong nextEventId = new AtomicLong(System.currentTimeMillis() * 1000);
+    
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sse-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private final ExecutorService writers;
+    
+    public TournamentEventService(@Value("${sse.writer-threads:4}") int writerThreads) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(writerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "sse-writer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    private static class BufferedEvent {
+        final long id;
+        final Set<ResponseBodyEmitter.DataWithMediaType> frame;
+        
+        BufferedEvent(long id, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+            this.id = id;
+            this.frame = frame;
+        }
+    }
+    
+    // Subscribers and recent history of one tournament. Appending to the history and subscribing both
+    // lock the channel, so every event reaches a subscriber exactly once: by replay or by broadcast.
+    // A channel is dropped with its history once its last subscriber leaves; closed marks that so no one
+    // joins or publishes to it afterwards
+    private static class Channel {
+        final Long tournamentId;
+        final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        final ArrayDeque<BufferedEvent> history = new ArrayDeque<>();
+        // Every event of this tournament with an id at or above this one is still in history
+        long coveredFrom;
+        boolean closed;
+        
+        Channel(Long tournamentId, long coveredFrom) {
+            this.tournamentId = tournamentId;
+            this.coveredFrom = coveredFrom;
+        }
+    }
+    
+    // One connection and the frames waiting to be written to it. At most one writer drains it at a time,
+    // which keeps its frames in order
+    private class Subscriber {
+        final SseEmitter emitter;
+        final ArrayDeque<Set<ResponseBodyEmitter.DataWithMediaType>> queue = new ArrayDeque<>();
+        boolean draining;
+        boolean closed;
+        boolean completeWhenDrained;
+        
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+        
+        // Never blocks. Returns false when the client has fallen too far behind and was dropped
+        synchronized boolean offer(Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+            if (closed) {
+                return false;
+            }
+            if (queue.size() >= subscriberQueueSize) {
+                // Left for the writer to complete: it may still be blocked in a send on this emitter
+                closed = true;
+                queue.clear();
+                return false;
+            }
+            queue.addLast(frame);
+            if (!draining) {
+                draining = true;
+                writers.execute(this::drain);
+            }
+            return true;
+        }
+        
+        synchronized void completeAfterQueued() {
+            completeWhenDrained = true;
+            if (!draining) {
+                draining = true;
+                writers.execute(this::drain);
+            }
+        }
+        
+        private void drain() {
+            while (true) {
+                Set<ResponseBodyEmitter.DataWithMediaType> frame;
+                synchronized (this) {
+                    frame = closed ? null : queue.pollFirst();
+                    if (frame == null) {
+                        draining = false;
+                        if (closed || completeWhenDrained) {
+                            closed = true;
+                            break;
+                        }
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(frame);
+                } catch (Exception e) {
+                    // Client went away; the container reports it through onError/onCompletion and completes it
+                    synchronized (this) {
+                        closed = true;
+                        draining = false;
+                    }
+                    return;
+                }
+            }
+            emitter.complete();
+        }
+    }
+    
+    public SseEmitter subscribe(Long tournamentId, String lastEventId) {
+        if (!tournamentRepository.existsById(tournamentId)) {
+            throw new RuntimeException("Tournament not found");
+        }
+        
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        while (true) {
+            Channel channel = channels.computeIfAbsent(tournamentId, id -> new Channel(id, nextEventId.get()));
+            synchronized (channel) {
+                if (channel.closed) {
+                    continue;
+                }
+                subscriber.offer(SseEmitter.event().comment("connected").reconnectTime(reconnectTime.toMillis()).build());
+                if (lastEventId != null) {
+                    replay(channel, subscriber, parseEventId(lastEventId));
+                }
+                channel.subscribers.add(subscriber);
+            }
+            emitter.onCompletion(() -> unsubscribe(channel, subscriber));
+            emitter.onTimeout(() -> unsubscribe(channel, subscriber));
+            emitter.onError(error -> unsubscribe(channel, subscriber));
+            return emitter;
+        }
+    }
+    
+    private void replay(Channel channel, Subscriber subscriber, long lastEventId) {
+        // The gap cannot be filled when events after the client's last one were evicted or happened
+        // before this channel existed, or when the id comes from a previous run; tell it to reload instead.
+        // The same goes for a gap too long to fit in the subscriber's queue
+        List<BufferedEvent> missed = new ArrayList<>();
+        for (BufferedEvent event : channel.history) {
+            if (event.id > lastEventId) {
+                missed.add(event);
+            }
+        }
+        if (lastEventId < 0 || lastEventId >= nextEventId.get() || lastEventId < channel.coveredFrom - 1
+                || missed.size() >= subscriberQueueSize) {
+            subscriber.offer(SseEmitter.event().name(RESYNC_EVENT).data("{}", MediaType.APPLICATION_JSON).build());
+            return;
+        }
+        missed.forEach(event -> subscriber.offer(event.frame));
+    }
+    
+    private void unsubscribe(Channel channel, Subscriber subscriber) {
+        synchronized (channel) {
+            channel.subscribers.remove(subscriber);
+            if (channel.subscribers.isEmpty() && !channel.closed) {
+                channel.closed = true;
+                channels.remove(channel.tournamentId, channel);
+            }
+        }
+    }
+    
+    private long parseEventId(String lastEventId) {
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+    
+    // Only committed changes are pushed; the broadcast itself runs off the request thread
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTournamentChange(TournamentChangeEvent event) {
+        dispatcher.execute(() -> broadcast(event));
+    }
+    
+    private void broadcast(TournamentChangeEvent event) {
+        if (!channels.containsKey(event.getTournamentId())) {
+            return;
+        }
+        
+        String json;
+        try {
+            // Serialized once and shared by every subscriber
+            json = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            logger.error("Could not serialize {}", event, e);
+            return;
+        }
+        boolean deleted = event.getType() == TournamentChangeEvent.Type.TOURNAMENT_DELETED;
+        
+        // Retried when the channel closes in between, so a subscriber that just opened a new one gets the event
+        Channel channel;
+        while ((channel = channels.get(event.getTournamentId())) != null) {
+            synchronized (channel) {
+                if (channel.closed) {
+                    continue;
+                }
+                // The id is taken under the lock so a channel created after this one never claims to cover it
+                long id = nextEventId.getAndIncrement();
+                BufferedEvent buffered = new BufferedEvent(id, SseEmitter.event()
+                        .id(Long.toString(id))
+                        .name(event.getType().name())
+                        .data(json, MediaType.APPLICATION_JSON)
+                        .build());
+                channel.history.addLast(buffered);
+                while (channel.history.size() > replayBufferSize) {
+                    channel.coveredFrom = channel.history.removeFirst().id + 1;
+                }
+                publish(channel, buffered.frame);
+                
+                // Nothing more will happen on a deleted tournament's feed
+                if (deleted) {
+                    channel.closed = true;
+                    channels.remove(channel.tournamentId, channel);
+                    channel.subscribers.forEach(Subscriber::completeAfterQueued);
+                }
+                return;
+            }
+        }
+    }
+    
+    // Queues the frame for every subscriber of the channel and drops those that have fallen behind
+    private void publish(Channel channel, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+        for (Subscriber subscriber : channel.subscribers) {
+            if (!subscriber.offer(frame)) {
+                logger.debug("Dropping slow subscriber of tournament {}", channel.tournamentId);
+                unsubscribe(channel, subscriber);
+            }
+        }
+    }
+    
+    // Comment lines keep proxies and load balancers from closing idle connections and expose dead clients
+    @Scheduled(fixedRateString = "${sse.heartbeat-interval:15s}")
+    public void sendHeartbeats() {
+        dispatcher.execute(() -> {
+            Set<ResponseBodyEmitter.DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+            for (Channel channel : channels.values()) {
+                synchronized (channel) {
+                    publish(channel, heartbeat);
+                }
+            }
+        });
+    }
+    
+    public int getSubscriberCount() {
+        return channels.values().stream().mapToInt(channel -> channel.subscribers.size()).sum();
+    }
+    
+    int getChannelCount() {
+        return channels.size();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        writers.shutdownNow();
+        channels.values().forEach(channel -> channel.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+}
@@ -2,12 +2,19 @@ package com.example.demo.service;
 
 import com.example.demo.entity.Tournament;
 import com.example.demo.entity.User;
+import com.example.demo.repository.GroupStandingRepository;
+import com.example.demo.repository.KnockoutMatchRepository;
+import com.example.demo.repository.MatchRepository;
 import com.example.demo.repository.TournamentRepository;
 import com.example.demo.dto.TournamentRequest;
+import com.example.demo.event.TournamentChangeEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @Service
@@ -16,6 +23,19 @@ public class TournamentService {
     @Autowired
     private TournamentRepository tournamentRepository;
     
+    @Autowired
+    private MatchRepository matchRepository;
+    
+    @Autowired
+    private KnockoutMatchRepository knockoutMatchRepository;
+    
+    @Autowired
+    private GroupStandingRepository groupStandingRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Transactional
     public Tournament createTournament(TournamentRequest request, User createdBy) {
         // Ensure only admins can create tournaments
         if (!createdBy.getRole().equals(User.Role.ADMIN)) {
@@ -30,9 +50,12 @@ public class TournamentService {
         tournament.setMaxTeams(request.getMaxTeams());
         tournament.setStatus(Tournament.Status.UPCOMING);
         tournament.setCreatedBy(createdBy);
-        tournament.setCreatedAt(LocalDateTime.now());
+        // Match the column precision so keyset cursors taken from this instance line up with stored rows
+        tournament.setCreatedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
         
-        return tournamentRepository.save(tournament);
+        Tournament saved = tournamentRepository.save(tournament);
+        eventPublisher.publishEvent(TournamentChangeEvent.tournamentCreated(saved.getId()));
+        return saved;
     }
     
     public List<Tournament> getAllTournaments() {
@@ -44,6 +67,7 @@ public class TournamentService {
                 .orElseThrow(() -> new RuntimeException("Tournament not found"));
     }
     
+    @Transactional
     public Tournament updateTournament(Long id, TournamentRequest request, User user) {
         Tournament tournament = getTournamentById(id);
         
@@ -58,9 +82,12 @@ public class TournamentService {
         tournament.setEndDate(request.getEndDate());
         tournament.setMaxTeams(request.getMaxTeams());
         
-        return tournamentRepository.save(tournament);
+        Tournament saved = tournamentRepository.save(tournament);
+        eventPublisher.publishEvent(TournamentChangeEvent.tournamentUpdated(id));
+        return saved;
     }
     
+    @Transactional
     public Tournament updateTournamentStatus(Long id, Tournament.Status status, User user) {
         Tournament tournament = getTournamentById(id);
         
@@ -70,9 +97,12 @@ public class TournamentService {
         }
         
         tournament.setStatus(status);
-        return tournamentRepository.save(tournament);
+        Tournament saved = tournamentRepository.save(tournament);
+        eventPublisher.publishEvent(TournamentChangeEvent.statusChanged(id, status.name()));
+        return saved;
     }
     
+    @Transactional
     public void deleteTournament(Long id, User user) {
         Tournament tournament = getTournamentById(id);
         
@@ -81,7 +111,12 @@ public class TournamentService {
             throw new RuntimeException("Only administrators can delete tournaments");
         }
         
+        // Standings and matches reference the teams and groups removed with the tournament
+        knockoutMatchRepository.deleteByTournamentId(id);
+        groupStandingRepository.deleteByTournamentId(id);
+        matchRepository.deleteByTournamentId(id);
         tournamentRepository.delete(tournament);
+        eventPublisher.publishEvent(TournamentChangeEvent.tournamentDeleted(id));
     }
     
     public List<Tournament> getTournamentsByCreator(User creator) {
@@ -0,0 +1,32 @@
+package com.example.demo.service;
+
+import com.example.demo.event.TournamentChangeEvent;
+import com.example.demo.repository.TournamentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+// Bumps the tournament's content version in the same transaction as the change itself, so a
+// committed change is never served under an old ETag. Runs just before commit to keep the
+// tournament row locked as briefly as possible.
+@Component
+public class TournamentVersionListener {
+    
+    @Autowired
+    private TournamentRepository tournamentRepository;
+    
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTournamentChange(TournamentChangeEvent event) {
+        switch (event.getType()) {
+            case TOURNAMENT_CREATED, TOURNAMENT_DELETED -> {
+                // A new tournament starts at version 0; a deleted one has nothing left to version
+            }
+            default -> tournamentRepository.bumpContentVersion(event.getTournamentId(),
+                    LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        }
+    }
+}
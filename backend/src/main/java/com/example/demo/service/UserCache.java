@@ -0,0 +1,70 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.User;
+import com.example.demo.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Bounded, TTL-based cache of User entities for the code paths that still need the full entity
+@Component
+public class UserCache {
+    
+    private final Cache<String, User> usersByUsername;
+    
+    // Ids of deactivated users; tokens are otherwise trusted until they expire
+    private final Set<Long> deactivatedUserIds = ConcurrentHashMap.newKeySet();
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    public UserCache(@Value("${users.cache.max-size:10000}") long maxSize,
+                     @Value("${users.cache.ttl:5m}") Duration ttl) {
+        this.usersByUsername = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+    
+    @PostConstruct
+    void loadDeactivatedUsers() {
+        userRepository.findByActiveFalse().forEach(user -> deactivatedUserIds.add(user.getId()));
+    }
+    
+    public Optional<User> findByUsername(String username) {
+        User cached = usersByUsername.getIfPresent(username);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        
+        // Misses are not cached so a user registered right after a failed lookup is found immediately
+        Optional<User> user = userRepository.findByUsername(username);
+        user.ifPresent(u -> usersByUsername.put(username, u));
+        return user;
+    }
+    
+    public boolean isDeactivated(Long userId) {
+        return deactivatedUserIds.contains(userId);
+    }
+    
+    public void evict(String username) {
+        usersByUsername.invalidate(username);
+    }
+    
+    public void userActivationChanged(User user) {
+        if (user.getActive()) {
+            deactivatedUserIds.remove(user.getId());
+        } else {
+            deactivatedUserIds.add(user.getId());
+        }
+        usersByUsername.invalidate(user.getUsername());
+    }
+}
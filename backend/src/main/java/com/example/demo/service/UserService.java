@@ -2,12 +2,16 @@ package com.example.demo.service;
 
 import com.example.demo.entity.User;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.dto.AuthenticatedUser;
 import com.example.demo.dto.RegisterRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 @Service
 public class UserService {
@@ -16,9 +20,17 @@ public class UserService {
     private UserRepository userRepository;
     
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
     
-    public User createUser(RegisterRequest request) {
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor taskExecutor;
+    
+    @Autowired
+    private UserCache userCache;
+    
+    // Checked before hashing so obviously invalid registrations never reach the hashing pool
+    public void checkAvailable(RegisterRequest request) {
         if (userRepository.findByUsername(request.getUsername()).isPresent()) {
             throw new RuntimeException("Username already exists");
         }
@@ -26,11 +38,15 @@ public class UserService {
         if (userRepository.findByEmail(request.getEmail()).isPresent()) {
             throw new RuntimeException("Email already exists");
         }
+    }
+    
+    public User createUser(RegisterRequest request, String encodedPassword) {
+        checkAvailable(request);
         
         User user = new User();
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(encodedPassword);
         user.setRole(request.getRole());
         user.setActive(true);
         
@@ -38,8 +54,53 @@ public class UserService {
     }
     
     public Optional<User> findByUsername(String username) {
+        return userCache.findByUsername(username);
+    }
+    
+    // Read from the database, not UserCache, so a password change or deactivation made on another
+    // instance applies to the next login instead of after the cache entry expires
+    public Optional<User> findCredentials(String username) {
         return userRepository.findByUsername(username);
     }
     
-    // User management methods removed - keeping only authentication-related functionality
-}
\ No newline at end of file
+    // Re-hashes with the configured BCrypt cost after a successful login. Best effort: skipped when the
+    // hashing pool is busy, and the update only applies if the stored hash is still the one we verified
+    public void upgradePasswordHash(User user, String rawPassword) {
+        String verifiedHash = user.getPassword();
+        passwordHashingService.encode(rawPassword)
+                .thenAcceptAsync(newHash -> {
+                    if (userRepository.replacePassword(user.getId(), verifiedHash, newHash) > 0) {
+                        userCache.evict(user.getUsername());
+                    }
+                }, taskExecutor);
+    }
+    
+    // Lightweight User carrying the id, username and role from the token; enough for the role
+    // checks and ownership comparisons in the services and for use as a foreign key reference
+    public User getCurrentUser(Authentication authentication) {
+        if (authentication == null) {
+            return null;
+        }
+        
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            User user = new User();
+            user.setId(principal.getId());
+            user.setUsername(principal.getUsername());
+            user.setRole(principal.getRole());
+            user.setActive(true);
+            return user;
+        }
+        return findByUsername(authentication.getName()).orElse(null);
+    }
+    
+    @Transactional
+    public User setActive(Long userId, boolean active) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        
+        user.setActive(active);
+        User saved = userRepository.save(user);
+        userCache.userActivationChanged(saved);
+        return saved;
+    }
+}
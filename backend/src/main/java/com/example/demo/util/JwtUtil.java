@@ -1,16 +1,26 @@
 package com.example.demo.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
 @Component
@@ -18,9 +28,43 @@ public class JwtUtil {
     
     private final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
     
+    // JwtParser is immutable and thread-safe, so one instance serves every request
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(key).build();
+    
+    // Recently verified tokens keyed by their SHA-256 hash; entries never outlive the token's exp
+    private final Cache<String, Claims> verifiedTokens;
+    
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    
     @Value("${jwt.expiration:86400000}") // 24 hours
     private Long expiration;
     
+    public JwtUtil(@Value("${jwt.cache.max-size:10000}") long cacheMaxSize,
+                   @Value("${jwt.cache.max-ttl:10m}") Duration cacheMaxTtl) {
+        long maxTtlNanos = cacheMaxTtl.toNanos();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String tokenHash, Claims claims, long currentTime) {
+                        long untilExpiry = Duration.ofMillis(claims.getExpiration().getTime() - System.currentTimeMillis()).toNanos();
+                        return Math.max(0, Math.min(untilExpiry, maxTtlNanos));
+                    }
+                    
+                    @Override
+                    public long expireAfterUpdate(String tokenHash, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                    
+                    @Override
+                    public long expireAfterRead(String tokenHash, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+    
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -34,12 +78,31 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
     
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+    // Verifies signature and expiry once and returns every claim; repeat presentations of the
+    // same token within its lifetime are answered from the verified-token cache
+    public Claims extractAllClaims(String token) {
+        String tokenHash = hash(token);
+        Claims claims = verifiedTokens.getIfPresent(tokenHash);
+        if (claims != null) {
+            cacheHits.increment();
+            return claims;
+        }
+        
+        cacheMisses.increment();
+        // Throws for bad signatures and expired tokens, which are therefore never cached
+        claims = parser.parseClaimsJws(token).getBody();
+        verifiedTokens.put(tokenHash, claims);
+        return claims;
     }
     
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    // Claims of a token this instance has already verified, or null; never verifies, so it is cheap enough
+    // to run ahead of authentication
+    public Claims peekVerifiedClaims(String token) {
+        return verifiedTokens.getIfPresent(hash(token));
+    }
+    
+    private Boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
     
     public String generateToken(String username, String role) {
@@ -48,6 +111,18 @@ public class JwtUtil {
         return createToken(claims, username);
     }
     
+    // Carries the user id as well so the request principal can be built without a users lookup
+    public String generateToken(Long userId, String username, String role) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("uid", userId);
+        claims.put("role", role);
+        return createToken(claims, username);
+    }
+    
+    public Long extractUserId(Claims claims) {
+        return claims.get("uid", Long.class);
+    }
+    
     private String createToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
                 .setClaims(claims)
@@ -59,11 +134,32 @@ public class JwtUtil {
     }
     
     public Boolean validateToken(String token, String username) {
-        final String tokenUsername = extractUsername(token);
-        return (tokenUsername.equals(username) && !isTokenExpired(token));
+        final Claims claims = extractAllClaims(token);
+        return (claims.getSubject().equals(username) && !isTokenExpired(claims));
     }
     
     public String extractRole(String token) {
         return extractClaim(token, claims -> claims.get("role", String.class));
     }
-}
\ No newline at end of file
+    
+    public Map<String, Object> getCacheStats() {
+        long hits = cacheHits.sum();
+        long misses = cacheMisses.sum();
+        long lookups = hits + misses;
+        return Map.of(
+                "hits", hits,
+                "misses", misses,
+                "hitRate", lookups == 0 ? 0.0 : (double) hits / lookups,
+                "size", verifiedTokens.estimatedSize()
+        );
+    }
+    
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.demo;
+
+import com.example.demo.controller.AuthController;
+import com.example.demo.dto.LoginRequest;
+import com.example.demo.entity.User;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = "spring.jpa.show-sql=false")
+public class AuthControllerTest {
+
+    @Autowired
+    private AuthController authController;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        User user = userRepository.findByUsername("testuser").get();
+        user.setActive(true);
+        userRepository.save(user);
+    }
+
+    private ResponseEntity<?> login(String username, String password) throws Exception {
+        LoginRequest request = new LoginRequest();
+        request.setUsername(username);
+        request.setPassword(password);
+        return authController.login(request).get();
+    }
+
+    @Test
+    public void testLoginSeesDeactivationNotYetInUserCache() throws Exception {
+        assertEquals(200, login("testuser", "test123").getStatusCode().value());
+        // Cached, as it is after any authenticated request
+        assertTrue(userService.findByUsername("testuser").get().getActive());
+
+        // Deactivated the way another instance would: straight in the database, this cache untouched
+        User user = userRepository.findByUsername("testuser").get();
+        user.setActive(false);
+        userRepository.save(user);
+
+        assertEquals(400, login("testuser", "test123").getStatusCode().value());
+    }
+}
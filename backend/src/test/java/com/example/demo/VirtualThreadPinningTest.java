@@ -0,0 +1,108 @@
+package com.example.demo;
+
+import com.example.demo.entity.User;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.util.JwtUtil;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Drives the main endpoints on virtual threads while JFR records jdk.VirtualThreadPinned, and fails if a
+// virtual thread was pinned while running application code. Pinning inside the embedded H2 driver is
+// ignored because production runs on MySQL.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = {"spring.threads.virtual.enabled=true", "spring.jpa.show-sql=false"})
+@EnabledForJreRange(min = JRE.JAVA_21)
+public class VirtualThreadPinningTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json");
+        return token == null ? builder : builder.header("Authorization", "Bearer " + token);
+    }
+
+    @Test
+    public void testNoPinningInApplicationCode() throws Exception {
+        User user = userRepository.findByUsername("testuser").get();
+        String token = jwtUtil.generateToken(user.getId(), user.getUsername(), user.getRole().name());
+        List<String> pinnedStacks = new ArrayList<>();
+
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", event -> {
+                String stack = describe(event);
+                if (stack.contains("com.example.demo") && !stack.contains("org.h2.")) {
+                    synchronized (pinnedStacks) {
+                        pinnedStacks.add(stack);
+                    }
+                }
+            });
+            recording.startAsync();
+
+            List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                responses.add(client.sendAsync(request("/api/tournaments/1", token).build(), HttpResponse.BodyHandlers.ofString()));
+                responses.add(client.sendAsync(request("/api/teams/tournament/1", token).build(), HttpResponse.BodyHandlers.ofString()));
+                responses.add(client.sendAsync(request("/api/groups/tournament/1", token).build(), HttpResponse.BodyHandlers.ofString()));
+                responses.add(client.sendAsync(request("/api/tournaments/page", token).build(), HttpResponse.BodyHandlers.ofString()));
+            }
+            for (int i = 0; i < 5; i++) {
+                responses.add(client.sendAsync(request("/api/teams", token)
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"Pinning " + i + "\",\"tournamentId\":1}")).build(),
+                        HttpResponse.BodyHandlers.ofString()));
+                responses.add(client.sendAsync(request("/api/auth/login", null)
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"testuser\",\"password\":\"test123\"}")).build(),
+                        HttpResponse.BodyHandlers.ofString()));
+            }
+            for (CompletableFuture<HttpResponse<String>> response : responses) {
+                assertEquals(200, response.get().statusCode(), response.get().body());
+            }
+
+            // Let the stream deliver the last events before closing it
+            Thread.sleep(1500);
+        }
+
+        assertTrue(pinnedStacks.isEmpty(), "Virtual threads pinned in application code:\n" + String.join("\n\n", pinnedStacks));
+    }
+
+    private static String describe(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "";
+        }
+        return event.getStackTrace().getFrames().stream()
+                .map(RecordedFrame::getMethod)
+                .map(method -> method.getType().getName() + "." + method.getName())
+                .collect(Collectors.joining("\n  at "));
+    }
+}
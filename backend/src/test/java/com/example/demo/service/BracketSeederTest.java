@@ -0,0 +1,111 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BracketSeederTest {
+
+    private final BracketSeeder seeder = new BracketSeeder();
+
+    // Team ids are groupId * 100 + position; better groups get more points so seeding is deterministic
+    private List<BracketSeeder.Qualifier> qualifiers(int groups, int perGroup) {
+        List<BracketSeeder.Qualifier> qualifiers = new ArrayList<>();
+        for (int group = 1; group <= groups; group++) {
+            for (int position = 1; position <= perGroup; position++) {
+                int points = 30 - 3 * position + groups - group;
+                qualifiers.add(new BracketSeeder.Qualifier(group * 100L + position, group, position, points, 0, 0));
+            }
+        }
+        return qualifiers;
+    }
+
+    @Test
+    public void testSeedOrderPairsSeedsSummingToSizePlusOne() {
+        assertArrayEquals(new int[] { 1, 8, 4, 5, 2, 7, 3, 6 }, BracketSeeder.seedOrder(8));
+        for (int size = 2; size <= 1024; size <<= 1) {
+            int[] order = BracketSeeder.seedOrder(size);
+            Set<Integer> seen = new HashSet<>();
+            for (int i = 0; i < size; i += 2) {
+                assertEquals(size + 1, order[i] + order[i + 1]);
+                assertTrue(seen.add(order[i]) && seen.add(order[i + 1]));
+            }
+        }
+    }
+
+    @Test
+    public void testBracketSizeIsNextPowerOfTwo() {
+        assertEquals(2, BracketSeeder.bracketSize(2));
+        assertEquals(8, BracketSeeder.bracketSize(5));
+        assertEquals(8, BracketSeeder.bracketSize(8));
+        assertEquals(1024, BracketSeeder.bracketSize(1000));
+    }
+
+    @Test
+    public void testGroupWinnersLandInDifferentSections() {
+        for (int groups : new int[] { 2, 4, 8, 16, 32 }) {
+            List<BracketSeeder.Qualifier> entrants = seeder.seed(qualifiers(groups, 2));
+            int section = entrants.size() / groups;
+            Set<Integer> sections = new HashSet<>();
+            for (int i = 0; i < entrants.size(); i++) {
+                if (entrants.get(i).getPosition() == 1) {
+                    assertTrue(sections.add(i / section), "Two group winners share a section with " + groups + " groups");
+                }
+            }
+            assertEquals(groups, sections.size());
+        }
+    }
+
+    @Test
+    public void testNoFirstRoundMatchBetweenTeamsOfTheSameGroup() {
+        for (int groups = 2; groups <= 32; groups++) {
+            List<BracketSeeder.Qualifier> entrants = seeder.seed(qualifiers(groups, 2));
+            for (int i = 0; i < entrants.size(); i += 2) {
+                BracketSeeder.Qualifier top = entrants.get(i);
+                BracketSeeder.Qualifier bottom = entrants.get(i + 1);
+                if (top != null && bottom != null) {
+                    assertNotEquals(top.getGroupId(), bottom.getGroupId(), "Same-group pairing with " + groups + " groups");
+                    assertTrue(top.getPosition() <= bottom.getPosition());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testByesGoToTheBestSeeds() {
+        // Three groups of two: six entrants in a bracket of eight, so the two best group winners get byes
+        List<BracketSeeder.Qualifier> entrants = seeder.seed(qualifiers(3, 2));
+        assertEquals(8, entrants.size());
+        List<Long> byes = new ArrayList<>();
+        for (int i = 0; i < entrants.size(); i += 2) {
+            if (entrants.get(i + 1) == null) {
+                byes.add(entrants.get(i).getTeamId());
+            }
+        }
+        assertEquals(List.of(101L, 201L), byes);
+    }
+
+    @Test
+    public void testEveryQualifierIsPlacedOnce() {
+        List<BracketSeeder.Qualifier> qualifiers = qualifiers(20, 3);
+        List<BracketSeeder.Qualifier> entrants = seeder.seed(qualifiers);
+        assertEquals(64, entrants.size());
+        Set<Long> placed = new HashSet<>();
+        for (BracketSeeder.Qualifier entrant : entrants) {
+            if (entrant != null) {
+                assertTrue(placed.add(entrant.getTeamId()));
+            }
+        }
+        assertEquals(qualifiers.size(), placed.size());
+    }
+
+    @Test
+    public void testTooFewQualifiersIsRejected() {
+        assertThrows(RuntimeException.class, () -> seeder.seed(qualifiers(1, 1)));
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.AssignTeamsToGroupRequest;
+import com.example.demo.dto.DashboardStatsDTO;
+import com.example.demo.dto.HourlyRegistrationsDTO;
+import com.example.demo.dto.TeamRequest;
+import com.example.demo.dto.TournamentFillDTO;
+import com.example.demo.dto.TournamentStatsRow;
+import com.example.demo.entity.RegistrationHourlyStats;
+import com.example.demo.entity.Team;
+import com.example.demo.entity.Tournament;
+import com.example.demo.entity.User;
+import com.example.demo.repository.RegistrationHourlyStatsRepository;
+import com.example.demo.repository.TournamentRepository;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = "spring.jpa.show-sql=false")
+public class DashboardStatsServiceTest {
+
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RegistrationHourlyStatsRepository registrationStatsRepository;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    private TournamentFillDTO fill(Long tournamentId) {
+        return dashboardStatsService.getDashboardStats().getTournaments().stream()
+                .filter(tournament -> tournament.getId().equals(tournamentId))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private long registrationsThisHour() {
+        List<HourlyRegistrationsDTO> hours = dashboardStatsService.getDashboardStats().getRegistrationsPerHour();
+        return hours.get(hours.size() - 1).getRegistrations();
+    }
+
+    @Test
+    void countersFollowTournamentLifecycle() {
+        User admin = userRepository.findByUsername("admin").get();
+        User user = userRepository.findByUsername("testuser").get();
+        long registrationsBefore = registrationsThisHour();
+
+        Tournament tournament = TournamentFixtures.createTournament(tournamentService, userRepository, "Dashboard Cup", 4);
+
+        TournamentFillDTO created = fill(tournament.getId());
+        assertNotNull(created);
+        assertEquals(0, created.getTeamCount());
+        assertEquals("UPCOMING", created.getStatus());
+
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            TeamRequest teamRequest = new TeamRequest();
+            teamRequest.setName("Dashboard Team " + i);
+            teamRequest.setTournamentId(tournament.getId());
+            teams.add(teamService.createTeam(teamRequest, user));
+        }
+
+        DashboardStatsDTO stats = dashboardStatsService.getDashboardStats();
+        TournamentFillDTO full = fill(tournament.getId());
+        assertEquals(4, full.getTeamCount());
+        assertEquals(1.0, full.getFillRatio());
+        assertTrue(stats.getReadyForDraw().contains(tournament.getId()));
+        assertEquals(registrationsBefore + 4, registrationsThisHour());
+
+        groupService.assignTeamsToGroupsRandomly(new AssignTeamsToGroupRequest(tournament.getId(), 2), admin);
+        assertTrue(fill(tournament.getId()).getGroupsDrawn());
+        assertFalse(dashboardStatsService.getDashboardStats().getReadyForDraw().contains(tournament.getId()));
+
+        groupService.deleteGroupsByTournamentId(tournament.getId());
+        teamService.deleteTeam(teams.get(0).getId(), user);
+        TournamentFillDTO reduced = fill(tournament.getId());
+        assertEquals(3, reduced.getTeamCount());
+        assertFalse(reduced.getGroupsDrawn());
+        assertFalse(reduced.getReadyForDraw());
+        // Removing a team does not undo a registration
+        assertEquals(registrationsBefore + 4, registrationsThisHour());
+
+        tournamentService.updateTournamentStatus(tournament.getId(), Tournament.Status.ONGOING, admin);
+        assertEquals("ONGOING", fill(tournament.getId()).getStatus());
+
+        // Reconciling with the tournaments table agrees with the incrementally maintained counters
+        dashboardStatsService.reconcile();
+        assertEquals(3, fill(tournament.getId()).getTeamCount());
+
+        dashboardStatsService.flushRegistrations();
+        LocalDateTime hour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        assertTrue(registrationStatsRepository.findById(hour).get().getRegistrations() >= 4);
+
+        tournamentService.deleteTournament(tournament.getId(), admin);
+        assertNull(fill(tournament.getId()));
+    }
+
+    private Team createTeam(String name, Tournament tournament, User user) {
+        TeamRequest request = new TeamRequest();
+        request.setName(name);
+        request.setTournamentId(tournament.getId());
+        return teamService.createTeam(request, user);
+    }
+
+    @Test
+    void changesCommittedWhileReconcileLoadsAreKept() {
+        User admin = userRepository.findByUsername("admin").get();
+        User user = userRepository.findByUsername("testuser").get();
+        Tournament growing = TournamentFixtures.createTournament(tournamentService, userRepository, "Reconcile Growing Cup", 8);
+        Tournament deleted = TournamentFixtures.createTournament(tournamentService, userRepository, "Reconcile Deleted Cup", 8);
+        createTeam("Reconcile Team 1", growing, user);
+
+        // The snapshot is read first; a registration and a deletion then commit before it is swapped in
+        dashboardStatsService.reconcile(() -> {
+            List<TournamentStatsRow> snapshot = tournamentRepository.findStatsRows();
+            createTeam("Reconcile Team 2", growing, user);
+            tournamentService.deleteTournament(deleted.getId(), admin);
+            return snapshot;
+        });
+
+        assertEquals(2, fill(growing.getId()).getTeamCount());
+        assertNull(fill(deleted.getId()));
+
+        // The next reconcile agrees with the kept counters
+        dashboardStatsService.reconcile();
+        assertEquals(2, fill(growing.getId()).getTeamCount());
+        assertNull(fill(deleted.getId()));
+
+        tournamentService.deleteTournament(growing.getId(), admin);
+    }
+
+    @Test
+    void hourInsertedByAnotherInstanceIsAddedToNotOverwritten() {
+        LocalDateTime hour = LocalDateTime.of(2020, 1, 1, 10, 0);
+        // Another instance inserts the hour right after this one's UPDATE found no row
+        RegistrationHourlyStatsRepository racing = mock(RegistrationHourlyStatsRepository.class,
+                delegatesTo(registrationStatsRepository));
+        doAnswer(invocation -> {
+            int updated = registrationStatsRepository.addRegistrations(invocation.getArgument(0), invocation.getArgument(1));
+            if (updated == 0) {
+                registrationStatsRepository.saveAndFlush(new RegistrationHourlyStats(hour, 7L));
+            }
+            return updated;
+        }).when(racing).addRegistrations(any(), anyLong());
+
+        ReflectionTestUtils.setField(dashboardStatsService, "registrationStatsRepository", racing);
+        try {
+            dashboardStatsService.writeRegistrations(hour, 5);
+        } finally {
+            ReflectionTestUtils.setField(dashboardStatsService, "registrationStatsRepository", registrationStatsRepository);
+        }
+
+        assertEquals(12, registrationStatsRepository.findById(hour).get().getRegistrations());
+        registrationStatsRepository.deleteById(hour);
+    }
+}
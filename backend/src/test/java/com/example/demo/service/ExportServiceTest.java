@@ -0,0 +1,98 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.TournamentRequest;
+import com.example.demo.entity.Tournament;
+import com.example.demo.entity.User;
+import com.example.demo.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {"spring.jpa.show-sql=false", "export.fetch-size=2"})
+public class ExportServiceTest {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private TeamImportService teamImportService;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportsTeamsAsCsvAndNdjson() throws Exception {
+        User user = userRepository.findByUsername("testuser").get();
+        Tournament tournament = TournamentFixtures.createTournament(tournamentService, userRepository, "Export Cup", 8);
+        String csv = "name,description\n" +
+                "Plain,simple\n" +
+                "\"Comma, Club\",\"line one\nline \"\"two\"\"\"\n" +
+                "Zürich,\n";
+        teamImportService.importTeams(tournament.getId(), new StringReader(csv), RecordFormat.CSV, user);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportTeams(tournament.getId(), out, RecordFormat.CSV);
+        String exported = out.toString(StandardCharsets.UTF_8);
+        String[] lines = exported.split("\r\n");
+        assertEquals("id,tournamentId,name,description,groupId,groupName,createdBy,createdAt", lines[0]);
+        assertTrue(exported.contains(",\"Comma, Club\",\"line one\nline \"\"two\"\"\",,,testuser,"));
+        assertTrue(lines[lines.length - 1].contains(",Zürich,,,,testuser,"));
+
+        // The CSV export reads back through the import unchanged
+        Tournament copy = TournamentFixtures.createTournament(tournamentService, userRepository, "Export Copy Cup", 8);
+        assertEquals(3, teamImportService.importTeams(copy.getId(), new StringReader(exported), RecordFormat.CSV, user).getImported());
+
+        out.reset();
+        exportService.exportTeams(tournament.getId(), out, RecordFormat.NDJSON);
+        String[] records = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, records.length);
+        JsonNode second = objectMapper.readTree(records[1]);
+        assertEquals("Comma, Club", second.get("name").asText());
+        assertEquals("line one\nline \"two\"", second.get("description").asText());
+        assertEquals(tournament.getId().longValue(), second.get("tournamentId").asLong());
+        assertTrue(second.get("groupId").isNull());
+    }
+
+    @Test
+    void writesTimestampsLikeTheApi() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 6, 1, 10, 0);
+        TournamentRequest request = new TournamentRequest();
+        request.setName("Export Timestamp Cup");
+        request.setStartDate(start);
+        request.setEndDate(start.plusDays(1));
+        request.setMaxTeams(8);
+        Tournament tournament = tournamentService.createTournament(request, userRepository.findByUsername("admin").get());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportTournaments(out, RecordFormat.NDJSON);
+        JsonNode exported = null;
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            JsonNode record = objectMapper.readTree(line);
+            if (record.get("id").asLong() == tournament.getId()) {
+                exported = record;
+            }
+        }
+
+        assertNotNull(exported);
+        // The same text the API returns for the field, seconds included
+        assertEquals(objectMapper.writeValueAsString(start), "\"" + exported.get("startDate").asText() + "\"");
+        assertEquals("2030-06-01T10:00:00", exported.get("startDate").asText());
+    }
+}
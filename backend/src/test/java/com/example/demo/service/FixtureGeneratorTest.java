@@ -0,0 +1,105 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FixtureGeneratorTest {
+
+    private final FixtureGenerator generator = new FixtureGenerator();
+
+    private List<Long> teams(int count) {
+        List<Long> teams = new ArrayList<>();
+        for (long i = 1; i <= count; i++) {
+            teams.add(i * 10);
+        }
+        return teams;
+    }
+
+    // Home (H) and away (A) games of each team in round order
+    private Map<Long, StringBuilder> schedules(List<FixtureGenerator.Fixture> fixtures) {
+        Map<Long, StringBuilder> schedules = new HashMap<>();
+        for (FixtureGenerator.Fixture fixture : fixtures) {
+            schedules.computeIfAbsent(fixture.getHomeTeamId(), id -> new StringBuilder()).append('H');
+            schedules.computeIfAbsent(fixture.getAwayTeamId(), id -> new StringBuilder()).append('A');
+        }
+        return schedules;
+    }
+
+    private int breaks(Map<Long, StringBuilder> schedules) {
+        int breaks = 0;
+        for (StringBuilder schedule : schedules.values()) {
+            for (int i = 1; i < schedule.length(); i++) {
+                if (schedule.charAt(i) == schedule.charAt(i - 1)) {
+                    breaks++;
+                }
+            }
+        }
+        return breaks;
+    }
+
+    @Test
+    public void testEveryPairMeetsOnceAndTeamsPlayOncePerRound() {
+        for (int size = 2; size <= 21; size++) {
+            List<FixtureGenerator.Fixture> fixtures = generator.roundRobin(teams(size));
+            assertEquals(size * (size - 1) / 2, fixtures.size());
+
+            Set<String> pairs = new HashSet<>();
+            Map<Integer, Set<Long>> playingPerRound = new HashMap<>();
+            int rounds = size % 2 == 0 ? size - 1 : size;
+            for (FixtureGenerator.Fixture fixture : fixtures) {
+                long low = Math.min(fixture.getHomeTeamId(), fixture.getAwayTeamId());
+                long high = Math.max(fixture.getHomeTeamId(), fixture.getAwayTeamId());
+                assertTrue(pairs.add(low + "-" + high));
+                assertTrue(fixture.getRound() >= 1 && fixture.getRound() <= rounds);
+                Set<Long> playing = playingPerRound.computeIfAbsent(fixture.getRound(), round -> new HashSet<>());
+                assertTrue(playing.add(fixture.getHomeTeamId()));
+                assertTrue(playing.add(fixture.getAwayTeamId()));
+            }
+            // With an odd count exactly one team has a bye each round
+            for (Set<Long> playing : playingPerRound.values()) {
+                assertEquals(size - size % 2, playing.size());
+            }
+        }
+    }
+
+    @Test
+    public void testHomeAndAwayAreBalancedWithMinimalBreaks() {
+        for (int size = 2; size <= 20; size += 2) {
+            Map<Long, StringBuilder> schedules = schedules(generator.roundRobin(teams(size)));
+            for (StringBuilder schedule : schedules.values()) {
+                long home = schedule.chars().filter(c -> c == 'H').count();
+                assertTrue(Math.abs(home - (schedule.length() - home)) <= 1);
+            }
+            assertEquals(size - 2, breaks(schedules));
+        }
+    }
+
+    @Test
+    public void testOddGroupsAlternateStrictly() {
+        for (int size = 3; size <= 21; size += 2) {
+            Map<Long, StringBuilder> schedules = schedules(generator.roundRobin(teams(size)));
+            assertEquals(0, breaks(schedules));
+            for (StringBuilder schedule : schedules.values()) {
+                assertEquals(size - 1, schedule.length());
+            }
+        }
+    }
+
+    @Test
+    public void testTinyGroups() {
+        assertTrue(generator.roundRobin(teams(0)).isEmpty());
+        assertTrue(generator.roundRobin(teams(1)).isEmpty());
+        FixtureGenerator.Fixture only = generator.roundRobin(teams(2)).get(0);
+        assertEquals(1, only.getRound());
+        assertEquals(10L, only.getHomeTeamId());
+        assertEquals(20L, only.getAwayTeamId());
+    }
+}
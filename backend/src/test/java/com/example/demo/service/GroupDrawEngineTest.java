@@ -0,0 +1,103 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.TeamDrawEntry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GroupDrawEngineTest {
+
+    private final GroupDrawEngine engine = new GroupDrawEngine();
+
+    private List<TeamDrawEntry> teams(int count, int teamsPerCreator) {
+        List<TeamDrawEntry> teams = new ArrayList<>();
+        for (long i = 1; i <= count; i++) {
+            teams.add(new TeamDrawEntry(i, (i - 1) / teamsPerCreator));
+        }
+        return teams;
+    }
+
+    @Test
+    public void testGroupSizesDifferByAtMostOne() {
+        GroupDrawEngine.DrawResult result = engine.draw(teams(23, 1), 4, null, true, 7L);
+
+        Set<Long> drawn = new HashSet<>();
+        for (List<Long> group : result.getGroups()) {
+            assertTrue(group.size() == 5 || group.size() == 6);
+            drawn.addAll(group);
+        }
+        assertEquals(23, drawn.size());
+    }
+
+    @Test
+    public void testSameSeedReproducesDraw() {
+        List<TeamDrawEntry> teams = teams(64, 3);
+        List<TeamDrawEntry> reversed = new ArrayList<>(teams);
+        Collections.reverse(reversed);
+
+        assertEquals(engine.draw(teams, 8, null, true, 42L).getGroups(),
+            engine.draw(reversed, 8, null, true, 42L).getGroups());
+        assertNotEquals(engine.draw(teams, 8, null, true, 42L).getGroups(),
+            engine.draw(teams, 8, null, true, 43L).getGroups());
+    }
+
+    @Test
+    public void testTeamsFromSameCreatorAreSeparated() {
+        // Four teams per creator and four groups: a conflict-free draw exists
+        GroupDrawEngine.DrawResult result = engine.draw(teams(32, 4), 4, null, true, 1L);
+
+        assertEquals(0, result.getCreatorConflicts());
+        for (List<Long> group : result.getGroups()) {
+            Set<Long> creators = new HashSet<>();
+            for (Long teamId : group) {
+                assertTrue(creators.add((teamId - 1) / 4));
+            }
+        }
+    }
+
+    @Test
+    public void testEachPotIsSpreadAcrossGroups() {
+        List<List<Long>> pots = List.of(List.of(1L, 2L, 3L, 4L), List.of(5L, 6L, 7L, 8L));
+        GroupDrawEngine.DrawResult result = engine.draw(teams(16, 1), 4, pots, true, 99L);
+
+        for (List<Long> group : result.getGroups()) {
+            assertEquals(1, group.stream().filter(id -> id <= 4).count());
+            assertEquals(1, group.stream().filter(id -> id > 4 && id <= 8).count());
+        }
+    }
+
+    @Test
+    public void testInvalidPotsAreRejected() {
+        assertThrows(RuntimeException.class,
+            () -> engine.draw(teams(8, 1), 2, List.of(List.of(1L, 99L)), true, 1L));
+        assertThrows(RuntimeException.class,
+            () -> engine.draw(teams(8, 1), 2, List.of(List.of(1L), List.of(1L)), true, 1L));
+    }
+
+    @Test
+    public void testGroupNamesContinuePastZ() {
+        assertEquals("Group A", GroupDrawEngine.groupName(0));
+        assertEquals("Group Z", GroupDrawEngine.groupName(25));
+        assertEquals("Group AA", GroupDrawEngine.groupName(26));
+        assertEquals("Group AZ", GroupDrawEngine.groupName(51));
+        assertEquals("Group BA", GroupDrawEngine.groupName(52));
+    }
+
+    @Test
+    public void testLargeDrawCompletesQuickly() {
+        List<TeamDrawEntry> teams = teams(10000, 5);
+        long start = System.nanoTime();
+        GroupDrawEngine.DrawResult result = engine.draw(teams, 625, null, true, 5L);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(625, result.getGroups().size());
+        assertEquals(0, result.getCreatorConflicts());
+        assertTrue(millis < 1000, "Draw of 10000 teams took " + millis + " ms");
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdempotencyStoreTest {
+
+    private final IdempotencyStore store = new IdempotencyStore(DataSize.ofMegabytes(1), Duration.ofMinutes(5));
+
+    private IdempotencyStore.StoredResponse response(String body) {
+        return new IdempotencyStore.StoredResponse("POST /api/teams", 200, "application/json", body.getBytes());
+    }
+
+    @Test
+    public void testFirstRequestHoldsTheKeyAndRetriesGetItsResponse() throws Exception {
+        assertNull(store.acquire("1:key", Duration.ofSeconds(1)));
+        store.complete("1:key", response("{\"id\":7}"));
+
+        IdempotencyStore.StoredResponse replayed = store.acquire("1:key", Duration.ofSeconds(1));
+        assertNotNull(replayed);
+        assertEquals("{\"id\":7}", new String(replayed.getBody()));
+        assertNull(store.acquire("2:key", Duration.ofSeconds(1)), "Keys are independent per user");
+    }
+
+    @Test
+    public void testConcurrentDuplicatesRunOnce() throws Exception {
+        int requests = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        List<Future<String>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < requests; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    IdempotencyStore.StoredResponse stored = store.acquire("1:retry", Duration.ofSeconds(10));
+                    if (stored != null) {
+                        return new String(stored.getBody());
+                    }
+                    executions.incrementAndGet();
+                    Thread.sleep(50);
+                    store.complete("1:retry", response("created"));
+                    return "created";
+                }));
+            }
+            start.countDown();
+            for (Future<String> result : results) {
+                assertEquals("created", result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    public void testReleasedKeyIsTakenOverByAWaiter() throws Exception {
+        assertNull(store.acquire("1:failed", Duration.ofSeconds(1)));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<IdempotencyStore.StoredResponse> waiter =
+                    executor.submit(() -> store.acquire("1:failed", Duration.ofSeconds(10)));
+            Thread.sleep(50);
+            store.release("1:failed");
+            assertNull(waiter.get(10, TimeUnit.SECONDS), "The waiter should now hold the key");
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThrows(TimeoutException.class, () -> store.acquire("1:failed", Duration.ofMillis(20)));
+    }
+}
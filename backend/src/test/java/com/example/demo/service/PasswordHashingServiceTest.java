@@ -0,0 +1,62 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordHashingServiceTest {
+
+    private PasswordHashingService service;
+
+    @AfterEach
+    public void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    public void testMatchesAndUnknownUser() throws Exception {
+        service = new PasswordHashingService(new BCryptPasswordEncoder(4), 4, 1, 4, Duration.ofSeconds(1));
+        String hash = service.encode("secret").get();
+
+        assertTrue(service.matches("secret", hash).get());
+        assertFalse(service.matches("wrong", hash).get());
+        assertFalse(service.matches("secret", null).get());
+    }
+
+    @Test
+    public void testNeedsRehashWhenCostDiffers() {
+        service = new PasswordHashingService(new BCryptPasswordEncoder(5), 5, 1, 4, Duration.ofSeconds(1));
+
+        assertFalse(service.needsRehash(new BCryptPasswordEncoder(5).encode("secret")));
+        assertTrue(service.needsRehash(new BCryptPasswordEncoder(4).encode("secret")));
+        assertTrue(service.needsRehash(new BCryptPasswordEncoder(6).encode("secret")));
+        assertFalse(service.needsRehash("not-a-bcrypt-hash"));
+    }
+
+    @Test
+    public void testRejectsWorkWhenQueueIsFull() throws Exception {
+        // One thread and a queue of two: a burst of ten slow hashes cannot all be accepted
+        service = new PasswordHashingService(new BCryptPasswordEncoder(12), 12, 1, 2, Duration.ofSeconds(1));
+        List<CompletableFuture<String>> burst = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            burst.add(service.encode("secret"));
+        }
+
+        long rejected = burst.stream().filter(CompletableFuture::isCompletedExceptionally).count();
+        assertTrue(rejected >= 7, "rejected " + rejected);
+        ExecutionException error = assertThrows(ExecutionException.class, () -> burst.get(burst.size() - 1).get());
+        assertInstanceOf(RejectedExecutionException.class, error.getCause());
+        assertEquals(rejected, service.getStats().get("rejected"));
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateLimiter limiter = new RateLimiter(
+            10, Duration.ofSeconds(6), 3, Duration.ofSeconds(20), 30, Duration.ofMillis(100),
+            120, Duration.ofMillis(10), 1000, Duration.ofMinutes(10));
+
+    private final RateLimiter.Policy policy = new RateLimiter.Policy("test", 5, Duration.ofSeconds(1), false, 100, Duration.ofMinutes(10));
+
+    @Test
+    public void testBurstUpToCapacityThenOneTokenPerRefillPeriod() {
+        long now = 1_000 * SECOND;
+        RateLimiter.Bucket bucket = new RateLimiter.Bucket(now);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(policy, now));
+        }
+        assertEquals(SECOND, bucket.tryAcquire(policy, now));
+        assertEquals(SECOND / 2, bucket.tryAcquire(policy, now + SECOND / 2));
+
+        assertEquals(0, bucket.tryAcquire(policy, now + SECOND));
+        assertTrue(bucket.tryAcquire(policy, now + SECOND) > 0);
+    }
+
+    @Test
+    public void testIdleBucketRefillsOnlyToCapacity() {
+        long now = 1_000 * SECOND;
+        RateLimiter.Bucket bucket = new RateLimiter.Bucket(now);
+        long later = now + 3_600 * SECOND;
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(policy, later));
+        }
+        assertTrue(bucket.tryAcquire(policy, later) > 0);
+    }
+
+    @Test
+    public void testConcurrentRequestsNeverExceedCapacity() throws Exception {
+        RateLimiter.Policy slow = new RateLimiter.Policy("slow", 100, Duration.ofHours(1), false, 100, Duration.ofMinutes(10));
+        RateLimiter.Bucket bucket = new RateLimiter.Bucket(System.nanoTime());
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger allowed = new AtomicInteger();
+        try {
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 1_000; i++) {
+                        if (bucket.tryAcquire(slow, System.nanoTime()) == 0) {
+                            allowed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(100, allowed.get());
+    }
+
+    @Test
+    public void testRoutesMapToPolicies() {
+        assertEquals("auth", limiter.policyFor("POST", "/api/auth/login").getName());
+        assertTrue(limiter.policyFor("POST", "/api/auth/login").isPerIp());
+        assertEquals("bulk", limiter.policyFor("POST", "/api/teams/import").getName());
+        assertEquals("bulk", limiter.policyFor("GET", "/api/admin/export/teams").getName());
+        assertEquals("search", limiter.policyFor("GET", "/api/teams").getName());
+        assertEquals("search", limiter.policyFor("GET", "/api/search").getName());
+        assertEquals("default", limiter.policyFor("POST", "/api/teams").getName());
+        assertEquals("default", limiter.policyFor("GET", "/api/tournaments/1").getName());
+    }
+
+    @Test
+    public void testClientsHaveSeparateBuckets() {
+        RateLimiter.Policy auth = limiter.policyFor("POST", "/api/auth/login");
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, limiter.tryAcquire(auth, "ip:10.0.0.1"));
+        }
+        long wait = limiter.tryAcquire(auth, "ip:10.0.0.1");
+        assertTrue(wait > 0 && wait <= TimeUnit.SECONDS.toNanos(6));
+        assertEquals(0, limiter.tryAcquire(auth, "ip:10.0.0.2"));
+    }
+}
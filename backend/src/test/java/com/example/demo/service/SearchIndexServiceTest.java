@@ -0,0 +1,105 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.SearchResultDTO;
+import com.example.demo.dto.TeamRequest;
+import com.example.demo.dto.TournamentRequest;
+import com.example.demo.entity.Team;
+import com.example.demo.entity.Tournament;
+import com.example.demo.entity.User;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = "spring.jpa.show-sql=false")
+public class SearchIndexServiceTest {
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamImportService teamImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private List<String> names(String query, SearchIndexService.Kind kind) {
+        return searchIndexService.search(query, kind, 50).stream()
+                .map(SearchResultDTO::getName)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void findsNamesByPrefixInfixAndMisspelling() throws Exception {
+        User admin = userRepository.findByUsername("admin").get();
+        User user = userRepository.findByUsername("testuser").get();
+        TournamentRequest request = new TournamentRequest();
+        request.setName("Quokka Championship");
+        request.setDescription("Annual marsupial football gathering");
+        request.setStartDate(LocalDateTime.now().plusDays(1));
+        request.setEndDate(LocalDateTime.now().plusDays(2));
+        request.setMaxTeams(8);
+        Tournament tournament = tournamentService.createTournament(request, admin);
+
+        TeamRequest teamRequest = new TeamRequest();
+        teamRequest.setName("Wombat Rangers");
+        teamRequest.setTournamentId(tournament.getId());
+        Team wombats = teamService.createTeam(teamRequest, user);
+        teamImportService.importTeams(tournament.getId(),
+                new StringReader("name\nWombat Rovers\nPlatypus United\n"), RecordFormat.CSV, user);
+
+        // Prefix of the last word while typing, an inner fragment and a misspelling
+        assertEquals("Quokka Championship", names("quok", SearchIndexService.Kind.TOURNAMENT).get(0));
+        assertTrue(names("hampion", null).contains("Quokka Championship"));
+        assertTrue(names("platipus", SearchIndexService.Kind.TEAM).contains("Platypus United"));
+        // Descriptions are searched too, but only for tournaments
+        assertTrue(names("marsupial", null).contains("Quokka Championship"));
+
+        // The exact prefix ranks first; both wombat teams match
+        List<String> wombatTeams = names("wombat ran", SearchIndexService.Kind.TEAM);
+        assertEquals("Wombat Rangers", wombatTeams.get(0));
+        assertTrue(wombatTeams.contains("Wombat Rovers"));
+        assertTrue(names("wombat", SearchIndexService.Kind.TOURNAMENT).isEmpty());
+
+        // Renames, removals and tournament deletion are followed after commit
+        teamRequest.setName("Numbat Rangers");
+        teamService.updateTeam(wombats.getId(), teamRequest, user);
+        assertFalse(names("wombat ran", SearchIndexService.Kind.TEAM).contains("Wombat Rangers"));
+        assertEquals("Numbat Rangers", names("numbat", SearchIndexService.Kind.TEAM).get(0));
+        SearchResultDTO rovers = searchIndexService.search("wombat rovers", SearchIndexService.Kind.TEAM, 1).get(0);
+        assertEquals(tournament.getId(), rovers.getTournamentId());
+        teamService.deleteTeam(rovers.getId(), user);
+        assertFalse(names("wombat", SearchIndexService.Kind.TEAM).contains("Wombat Rovers"));
+
+        // A rebuild from the database agrees with the incrementally maintained index
+        searchIndexService.rebuild();
+        assertEquals("Numbat Rangers", names("numbat", SearchIndexService.Kind.TEAM).get(0));
+        assertTrue(names("platipus", SearchIndexService.Kind.TEAM).contains("Platypus United"));
+
+        tournamentService.deleteTournament(tournament.getId(), admin);
+        assertFalse(names("quokka", null).contains("Quokka Championship"));
+        assertFalse(names("platypus", null).contains("Platypus United"));
+    }
+
+    @Test
+    void limitsResultsAndRejectsEmptyQueries() {
+        assertThrows(RuntimeException.class, () -> searchIndexService.search("  ", null, null));
+        assertTrue(searchIndexService.search("!!!", null, null).isEmpty());
+        assertTrue(searchIndexService.search("t", null, 1).size() <= 1);
+    }
+}
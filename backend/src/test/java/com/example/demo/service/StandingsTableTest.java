@@ -0,0 +1,163 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.MatchResultEntry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StandingsTableTest {
+
+    private static final long GROUP = 1L;
+
+    private List<StandingsTable.Row> emptyRows(long... teamIds) {
+        List<StandingsTable.Row> rows = new ArrayList<>();
+        for (long teamId : teamIds) {
+            rows.add(new StandingsTable.Row(teamId));
+        }
+        return rows;
+    }
+
+    // Computes the table from scratch, the way a rebuild does
+    private StandingsTable compute(List<MatchResultEntry> results, long... teamIds) {
+        List<StandingsTable.Row> rows = emptyRows(teamIds);
+        Map<Long, StandingsTable.Row> byTeam = new HashMap<>();
+        rows.forEach(row -> byTeam.put(row.getTeamId(), row));
+        for (MatchResultEntry result : results) {
+            byTeam.get(result.getHomeTeamId()).record(result.getHomeScore(), result.getAwayScore(), 1);
+            byTeam.get(result.getAwayTeamId()).record(result.getAwayScore(), result.getHomeScore(), 1);
+        }
+        return StandingsTable.compute(rows, () -> results);
+    }
+
+    private List<Long> order(StandingsTable table) {
+        return table.getRows().stream().map(StandingsTable.Row::getTeamId).collect(Collectors.toList());
+    }
+
+    private MatchResultEntry result(long home, long away, int homeScore, int awayScore) {
+        return new MatchResultEntry(GROUP, home, away, homeScore, awayScore);
+    }
+
+    @Test
+    public void testRanksByPointsGoalDifferenceAndGoalsScored() {
+        List<MatchResultEntry> results = List.of(
+                result(1, 2, 2, 0),
+                result(3, 4, 1, 1),
+                result(1, 3, 0, 0),
+                result(2, 4, 3, 1));
+        StandingsTable table = compute(results, 1, 2, 3, 4);
+
+        // 1: 4 pts; 2: 3 pts; 3: 2 pts; 4: 1 pt
+        assertEquals(List.of(1L, 2L, 3L, 4L), order(table));
+        StandingsTable.Row leader = table.getRow(1);
+        assertEquals(2, leader.getPlayed());
+        assertEquals(1, leader.getWon());
+        assertEquals(1, leader.getDrawn());
+        assertEquals(4, leader.getPoints());
+        assertEquals(2, leader.getGoalDifference());
+        assertEquals(1, leader.getPosition());
+        assertEquals(4, table.rankOf(4));
+        assertThrows(RuntimeException.class, () -> table.rankOf(99));
+    }
+
+    @Test
+    public void testHeadToHeadBreaksTiesAndIsOnlyLoadedWhenNeeded() {
+        // 1 and 2 finish level on points, goal difference and goals scored; 2 won their meeting
+        List<MatchResultEntry> results = List.of(
+                result(2, 1, 1, 0),
+                result(1, 3, 1, 0),
+                result(1, 4, 1, 0),
+                result(2, 3, 1, 0),
+                result(4, 2, 1, 0));
+        int[] loads = new int[1];
+        List<StandingsTable.Row> rows = new ArrayList<>(compute(results, 1, 2, 3, 4).getRows());
+        StandingsTable table = StandingsTable.compute(rows, () -> {
+            loads[0]++;
+            return results;
+        });
+        assertEquals(List.of(2L, 1L, 4L, 3L), order(table));
+        assertEquals(1, loads[0]);
+
+        // No ties, no results read
+        StandingsTable untied = StandingsTable.compute(compute(List.of(result(1, 2, 1, 0)), 1, 2).getRows(), () -> {
+            throw new AssertionError("Head to head should not be needed");
+        });
+        assertEquals(List.of(1L, 2L), order(untied));
+
+        // Level on everything including head to head: lower team id first
+        assertEquals(List.of(5L, 7L), order(compute(List.of(result(7, 5, 1, 1)), 7, 5)));
+    }
+
+    @Test
+    public void testCorrectingAndClearingAResult() {
+        List<MatchResultEntry> results = new ArrayList<>(List.of(result(1, 2, 3, 0)));
+        StandingsTable table = compute(results, 1, 2, 3);
+        assertEquals(List.of(1L, 3L, 2L), order(table));
+
+        // Corrected to an away win
+        results.set(0, result(1, 2, 0, 1));
+        table.changeResult(1, 2, 3, 0, 0, 1);
+        assertEquals(List.of(2L, 3L, 1L), order(table));
+        assertEquals(1, table.getRow(2).getWon());
+        assertEquals(0, table.getRow(1).getWon());
+        assertEquals(1, table.getRow(1).getLost());
+        assertEquals(3, table.getRow(1).getPosition());
+
+        // Cleared: back to nobody having played
+        results.clear();
+        table.changeResult(1, 2, 0, 1, null, null);
+        assertEquals(List.of(1L, 2L, 3L), order(table));
+        for (StandingsTable.Row row : table.getRows()) {
+            assertEquals(0, row.getPlayed());
+            assertEquals(0, row.getPoints());
+            assertEquals(0, row.getGoalsFor());
+        }
+    }
+
+    @Test
+    public void testIncrementalUpdatesMatchAFullRecompute() {
+        Random random = new Random(42);
+        long[] teams = { 11, 12, 13, 14, 15, 16 };
+        List<long[]> pairs = new ArrayList<>();
+        for (int i = 0; i < teams.length; i++) {
+            for (int j = i + 1; j < teams.length; j++) {
+                pairs.add(new long[] { teams[i], teams[j] });
+            }
+        }
+        Map<Integer, MatchResultEntry> recorded = new HashMap<>();
+        StandingsTable table = compute(List.of(), teams);
+
+        for (int step = 0; step < 500; step++) {
+            int match = random.nextInt(pairs.size());
+            long[] pair = pairs.get(match);
+            MatchResultEntry old = recorded.get(match);
+            // Low scores so that ties, and head-to-head tiebreaks, are frequent
+            MatchResultEntry next = random.nextInt(5) == 0 ? null
+                    : result(pair[0], pair[1], random.nextInt(3), random.nextInt(3));
+            if (next == null) {
+                recorded.remove(match);
+            } else {
+                recorded.put(match, next);
+            }
+            List<MatchResultEntry> current = new ArrayList<>(recorded.values());
+            // Continue from the stored positions, as the service does with persisted rows
+            table = StandingsTable.ranked(table.getRows(), () -> current);
+            table.changeResult(pair[0], pair[1],
+                    old == null ? null : old.getHomeScore(), old == null ? null : old.getAwayScore(),
+                    next == null ? null : next.getHomeScore(), next == null ? null : next.getAwayScore());
+
+            StandingsTable expected = compute(current, teams);
+            assertEquals(order(expected), order(table), "step " + step);
+            for (StandingsTable.Row row : expected.getRows()) {
+                assertEquals(row, table.getRow(row.getTeamId()), "step " + step);
+                assertEquals(row.getPosition(), table.rankOf(row.getTeamId()));
+            }
+        }
+    }
+}
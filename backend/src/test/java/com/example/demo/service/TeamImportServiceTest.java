@@ -0,0 +1,130 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.TeamImportReport;
+import com.example.demo.dto.TeamImportRowResult;
+import com.example.demo.dto.TeamRequest;
+import com.example.demo.entity.Tournament;
+import com.example.demo.entity.User;
+import com.example.demo.repository.TeamRepository;
+import com.example.demo.repository.TournamentRepository;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = {"spring.jpa.show-sql=false", "teams.import.batch-size=2", "teams.import.max-record-length=64"})
+public class TeamImportServiceTest {
+
+    @Autowired
+    private TeamImportService teamImportService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    private TeamImportRowResult row(TeamImportReport report, long line) {
+        return report.getRows().stream().filter(row -> row.getLine() == line).findFirst().orElseThrow();
+    }
+
+    @Test
+    void importsCsvWithinCapacityAndReportsEveryRow() throws Exception {
+        User user = userRepository.findByUsername("testuser").get();
+        Tournament tournament = TournamentFixtures.createTournament(tournamentService, userRepository, "CSV Import Cup", 5);
+        TeamRequest existing = new TeamRequest();
+        existing.setName("Alpha");
+        existing.setTournamentId(tournament.getId());
+        teamService.createTeam(existing, user);
+
+        String csv = "name,description\r\n" +
+                " alpha ,exists already\r\n" +
+                "Bravo,\"Has, a comma\r\nand a line break\"\r\n" +
+                "Charlie,\r\n" +
+                "\r\n" +
+                "BRAVO,duplicate in file\r\n" +
+                ",no name\r\n" +
+                "Delta," + "x".repeat(100) + "\r\n" +
+                "Echo,\"say \"\"hi\"\"\"\r\n" +
+                "Foxtrot,e\r\n" +
+                "Golf,over capacity\r\n";
+        TeamImportReport report = teamImportService.importTeams(tournament.getId(), new StringReader(csv),
+                RecordFormat.CSV, user);
+
+        assertEquals(9, report.getTotalRows());
+        assertEquals(4, report.getImported());
+        assertEquals(5, report.getRejected());
+        assertFalse(report.isTruncated());
+        assertEquals("Team name already exists in this tournament", row(report, 2).getError());
+        assertTrue(row(report, 3).getImported());
+        assertNotNull(row(report, 3).getTeamId());
+        assertTrue(row(report, 5).getImported());
+        assertEquals("Team name duplicates line 3", row(report, 7).getError());
+        assertEquals("Team name is required", row(report, 8).getError());
+        assertEquals("Record exceeds 64 characters", row(report, 9).getError());
+        assertTrue(row(report, 10).getImported());
+        assertTrue(row(report, 11).getImported());
+        assertEquals("Tournament is full", row(report, 12).getError());
+
+        assertEquals("Has, a comma\r\nand a line break", teamService.getTeamById(row(report, 3).getTeamId()).getDescription());
+        assertEquals("say \"hi\"", teamService.getTeamById(row(report, 10).getTeamId()).getDescription());
+        assertEquals(5, tournamentRepository.findById(tournament.getId()).get().getTeamCount());
+        assertEquals(5, teamRepository.findIdsByTournamentId(tournament.getId()).size());
+    }
+
+    @Test
+    void importsNdjsonAndKeepsNameIndexConsistent() throws Exception {
+        User user = userRepository.findByUsername("testuser").get();
+        Tournament tournament = TournamentFixtures.createTournament(tournamentService, userRepository, "NDJSON Import Cup", 10);
+
+        String ndjson = "{\"name\":\"Red Dragons\",\"description\":\"first\"}\n" +
+                "not json\n" +
+                "[1,2]\n" +
+                "\n" +
+                "{\"name\":\"Blue  Sharks\"}\n";
+        TeamImportReport report = teamImportService.importTeams(tournament.getId(), new StringReader(ndjson),
+                RecordFormat.NDJSON, user);
+
+        assertEquals(4, report.getTotalRows());
+        assertEquals(2, report.getImported());
+        assertTrue(row(report, 2).getError().startsWith("Invalid JSON"));
+        assertEquals("Expected a JSON object", row(report, 3).getError());
+        assertTrue(row(report, 5).getImported());
+
+        // Imported rows carry the normalized name, so the unique index still catches later duplicates
+        TeamRequest duplicate = new TeamRequest();
+        duplicate.setName("blue sharks");
+        duplicate.setTournamentId(tournament.getId());
+        RuntimeException e = assertThrows(RuntimeException.class, () -> teamService.createTeam(duplicate, user));
+        assertEquals("Team name already exists in this tournament", e.getMessage());
+        assertEquals(2, tournamentRepository.findById(tournament.getId()).get().getTeamCount());
+    }
+
+    @Test
+    void rejectsAdministratorsAndUnknownTournaments() {
+        User admin = userRepository.findByUsername("admin").get();
+        User user = userRepository.findByUsername("testuser").get();
+        assertThrows(RuntimeException.class, () -> teamImportService.importTeams(1L, new StringReader("A\n"),
+                RecordFormat.CSV, admin));
+        RuntimeException e = assertThrows(RuntimeException.class, () -> teamImportService.importTeams(-1L,
+                new StringReader("A\n"), RecordFormat.CSV, user));
+        assertEquals("Tournament not found", e.getMessage());
+    }
+}
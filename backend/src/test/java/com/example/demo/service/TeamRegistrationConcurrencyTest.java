@@ -0,0 +1,110 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.TeamRequest;
+import com.example.demo.entity.Tournament;
+import com.example.demo.entity.User;
+import com.example.demo.repository.TeamRepository;
+import com.example.demo.repository.TournamentRepository;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = "spring.jpa.show-sql=false")
+public class TeamRegistrationConcurrencyTest {
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    // Submits all registrations at once and returns how many succeeded
+    private int registerConcurrently(List<TeamRequest> requests, String expectedError) throws Exception {
+        User user = userRepository.findByUsername("testuser").get();
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (TeamRequest teamRequest : requests) {
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    teamService.createTeam(teamRequest, user);
+                    return true;
+                } catch (RuntimeException e) {
+                    assertEquals(expectedError, e.getMessage());
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int registered = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                registered++;
+            }
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        return registered;
+    }
+
+    private TeamRequest teamRequest(String name, Long tournamentId) {
+        TeamRequest teamRequest = new TeamRequest();
+        teamRequest.setName(name);
+        teamRequest.setTournamentId(tournamentId);
+        return teamRequest;
+    }
+
+    @Test
+    public void testConcurrentRegistrationsNeverExceedMaxTeams() throws Exception {
+        Tournament tournament = TournamentFixtures.createTournament(tournamentService, userRepository, "Concurrent Registration Cup", 20);
+
+        List<TeamRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            requests.add(teamRequest("Team " + i, tournament.getId()));
+        }
+        int registered = registerConcurrently(requests, "Tournament is full");
+
+        assertEquals(20, registered);
+        assertEquals(20, teamRepository.findIdsByTournamentId(tournament.getId()).size());
+        assertEquals(20, tournamentRepository.findById(tournament.getId()).get().getTeamCount());
+    }
+
+    @Test
+    public void testConcurrentDuplicateNamesRegisterOnce() throws Exception {
+        Tournament tournament = TournamentFixtures.createTournament(tournamentService, userRepository, "Duplicate Name Cup", 64);
+
+        // Variants of one name differing only in case and whitespace
+        List<TeamRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            requests.add(teamRequest(i % 2 == 0 ? "Red Dragons" : "  RED   dragons ", tournament.getId()));
+        }
+        int registered = registerConcurrently(requests, "Team name already exists in this tournament");
+
+        assertEquals(1, registered);
+        assertEquals(1, tournamentRepository.findById(tournament.getId()).get().getTeamCount());
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.AssignTeamsToGroupRequest;
+import com.example.demo.dto.TeamDTO;
+import com.example.demo.dto.TeamPageDTO;
+import com.example.demo.dto.TeamSearchCriteria;
+import com.example.demo.entity.Tournament;
+import com.example.demo.entity.User;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = "spring.jpa.show-sql=false")
+public class TeamSearchTest {
+
+    @Autowired
+    private ReadModelService readModelService;
+
+    @Autowired
+    private TeamImportService teamImportService;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private TeamSearchCriteria forTournament(Long tournamentId) {
+        TeamSearchCriteria criteria = new TeamSearchCriteria();
+        criteria.setTournamentId(tournamentId);
+        return criteria;
+    }
+
+    private List<String> names(TeamPageDTO page) {
+        return page.getTeams().stream().map(TeamDTO::getName).collect(Collectors.toList());
+    }
+
+    @Test
+    void pagesThroughFilteredTeams() throws Exception {
+        User user = userRepository.findByUsername("testuser").get();
+        Tournament tournament = TournamentFixtures.createTournament(tournamentService, userRepository, "Search Cup", 6);
+        // One import, so several teams are likely to share a createdAt and the id breaks the tie
+        String csv = "name\nAlpha Lions\nAlpha Tigers\nalpha_bears\nBeta Wolves\nGamma Hawks\nDelta Sharks\n";
+        teamImportService.importTeams(tournament.getId(), new StringReader(csv), RecordFormat.CSV, user);
+        Tournament other = TournamentFixtures.createTournament(tournamentService, userRepository, "Other Search Cup", 4);
+        teamImportService.importTeams(other.getId(), new StringReader("name\nAlpha Elsewhere\n"), RecordFormat.CSV, user);
+
+        // Walking the pages returns every team of the tournament exactly once, in creation order
+        List<String> walked = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            TeamPageDTO page = readModelService.searchTeams(forTournament(tournament.getId()), cursor, 4);
+            assertTrue(page.getSize() <= 4);
+            walked.addAll(names(page));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+        assertEquals(2, pages);
+        assertEquals(List.of("Alpha Lions", "Alpha Tigers", "alpha_bears", "Beta Wolves", "Gamma Hawks", "Delta Sharks"), walked);
+
+        // Prefixes ignore case and treat LIKE wildcards literally
+        TeamSearchCriteria alpha = forTournament(tournament.getId());
+        alpha.setNamePrefix("ALPHA");
+        assertEquals(3, readModelService.searchTeams(alpha, null, null).getSize());
+        alpha.setNamePrefix("alpha_");
+        assertEquals(List.of("alpha_bears"), names(readModelService.searchTeams(alpha, null, null)));
+
+        TeamSearchCriteria everywhere = new TeamSearchCriteria();
+        everywhere.setNamePrefix("alpha");
+        everywhere.setCreatedBy("testuser");
+        assertTrue(names(readModelService.searchTeams(everywhere, null, 100)).contains("Alpha Elsewhere"));
+        everywhere.setCreatedBy("admin");
+        assertEquals(0, readModelService.searchTeams(everywhere, null, null).getSize());
+
+        TeamSearchCriteria future = forTournament(tournament.getId());
+        future.setCreatedFrom(LocalDateTime.now().plusMinutes(1));
+        assertEquals(0, readModelService.searchTeams(future, null, null).getSize());
+        TeamSearchCriteria past = forTournament(tournament.getId());
+        past.setCreatedTo(LocalDateTime.now().plusMinutes(1));
+        assertEquals(6, readModelService.searchTeams(past, null, null).getSize());
+
+        TeamSearchCriteria unassigned = forTournament(tournament.getId());
+        unassigned.setUnassigned(true);
+        assertEquals(6, readModelService.searchTeams(unassigned, null, null).getSize());
+
+        groupService.assignTeamsToGroupsRandomly(new AssignTeamsToGroupRequest(tournament.getId(), 2),
+                userRepository.findByUsername("admin").get());
+        assertEquals(0, readModelService.searchTeams(unassigned, null, null).getSize());
+        List<TeamDTO> all = readModelService.searchTeams(forTournament(tournament.getId()), null, null).getTeams();
+        Long groupId = all.get(0).getGroupId();
+        TeamSearchCriteria inGroup = new TeamSearchCriteria();
+        inGroup.setGroupId(groupId);
+        TeamPageDTO group = readModelService.searchTeams(inGroup, null, null);
+        assertEquals(3, group.getSize());
+        assertEquals(new HashSet<>(List.of(groupId)), group.getTeams().stream().map(TeamDTO::getGroupId).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void rejectsInvalidRequests() {
+        TeamSearchCriteria criteria = new TeamSearchCriteria();
+        criteria.setGroupId(1L);
+        criteria.setUnassigned(true);
+        RuntimeException combined = assertThrows(RuntimeException.class, () -> readModelService.searchTeams(criteria, null, null));
+        assertEquals("groupId and unassigned cannot be combined", combined.getMessage());
+
+        RuntimeException cursor = assertThrows(RuntimeException.class,
+                () -> readModelService.searchTeams(new TeamSearchCriteria(), "bm90LWEtY3Vyc29y", null));
+        assertEquals("Invalid cursor", cursor.getMessage());
+
+        // Sizes are capped rather than rejected
+        assertNotNull(readModelService.searchTeams(new TeamSearchCriteria(), null, 10_000));
+    }
+}
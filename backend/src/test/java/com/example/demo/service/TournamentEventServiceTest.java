@@ -0,0 +1,126 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.Tournament;
+import com.example.demo.entity.User;
+import com.example.demo.event.TournamentChangeEvent;
+import com.example.demo.repository.TournamentRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.util.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = {"spring.jpa.show-sql=false", "sse.subscriber-queue-size=16"})
+public class TournamentEventServiceTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TournamentEventService tournamentEventService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private Tournament busy;
+    private Tournament quiet;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        User admin = userRepository.findByUsername("admin").get();
+        token = jwtUtil.generateToken(admin.getId(), admin.getUsername(), admin.getRole().name());
+        busy = TournamentFixtures.createTournament(tournamentService, userRepository, "Busy Feed Cup", 8);
+        quiet = TournamentFixtures.createTournament(tournamentService, userRepository, "Quiet Feed Cup", 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tournamentRepository.deleteById(busy.getId());
+        tournamentRepository.deleteById(quiet.getId());
+    }
+
+    @Test
+    public void stalledSubscriberDoesNotHoldUpOtherFeeds() throws Exception {
+        // Subscribes with a tiny receive window and never reads, so the server's writes to it block
+        try (Socket stalled = new Socket()) {
+            stalled.setReceiveBufferSize(1024);
+            stalled.connect(new InetSocketAddress("localhost", port));
+            OutputStream out = stalled.getOutputStream();
+            out.write(("GET /api/tournaments/" + busy.getId() + "/events HTTP/1.1\r\nHost: localhost\r\n"
+                    + "Authorization: Bearer " + token + "\r\nAccept: text/event-stream\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            awaitSubscribers(1);
+
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tournaments/" + quiet.getId() + "/events"))
+                    .header("Authorization", "Bearer " + token)
+                    .build();
+            HttpResponse<Stream<String>> response = HttpClient.newHttpClient()
+                    .send(request, HttpResponse.BodyHandlers.ofLines());
+            assertEquals(200, response.statusCode());
+            awaitSubscribers(2);
+
+            // Far more than the stalled socket and its queue can absorb
+            String padding = "x".repeat(65536);
+            for (int i = 0; i < 400; i++) {
+                TournamentChangeEvent event = TournamentChangeEvent.tournamentUpdated(busy.getId());
+                event.setTeamName(padding);
+                eventPublisher.publishEvent(event);
+            }
+            eventPublisher.publishEvent(TournamentChangeEvent.tournamentUpdated(quiet.getId()));
+
+            CompletableFuture<String> received = CompletableFuture.supplyAsync(() -> response.body()
+                    .filter(line -> line.startsWith("event:"))
+                    .findFirst()
+                    .orElse(null));
+            assertEquals("event:TOURNAMENT_UPDATED", received.get(5, TimeUnit.SECONDS));
+
+            // The stalled client fell behind and was dropped, taking the busy channel and its history with it
+            awaitSubscribers(1);
+            assertEquals(1, tournamentEventService.getChannelCount());
+            response.body().close();
+        }
+    }
+
+    private void awaitSubscribers(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (tournamentEventService.getSubscriberCount() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(expected, tournamentEventService.getSubscriberCount());
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.TournamentRequest;
+import com.example.demo.entity.Tournament;
+import com.example.demo.repository.UserRepository;
+
+import java.time.LocalDateTime;
+
+// Tournaments the service tests register teams into: created by the seeded admin, starting tomorrow
+final class TournamentFixtures {
+
+    private TournamentFixtures() {
+    }
+
+    static Tournament createTournament(TournamentService tournamentService, UserRepository userRepository,
+                                       String name, int maxTeams) {
+        TournamentRequest request = new TournamentRequest();
+        request.setName(name);
+        request.setStartDate(LocalDateTime.now().plusDays(1));
+        request.setEndDate(LocalDateTime.now().plusDays(2));
+        request.setMaxTeams(maxTeams);
+        return tournamentService.createTournament(request, userRepository.findByUsername("admin").get());
+    }
+}
@@ -18,19 +18,46 @@ api.interceptors.request.use((config) => {
   return config;
 });
 
-// Handle token expiration
+const sleep = (ms) => new Promise((resolve) => setTimeout(resolve, ms));
+
+// Only requests sent with an Idempotency-Key are retried: the server runs them once and replays the
+// first response to a retry. A timeout or lost connection is retried after a short backoff; a 409 means
+// the first attempt is still running, so the retry waits as long as Retry-After asks
+const shouldRetry = (error) =>
+  !error.response || error.response.status === 409;
+
+// Handle token expiration and retry idempotent requests
 api.interceptors.response.use(
   (response) => response,
-  (error) => {
+  async (error) => {
     if (error.response?.status === 401) {
       localStorage.removeItem("token");
       localStorage.removeItem("user");
       window.location.href = "/login";
+      return Promise.reject(error);
+    }
+    const config = error.config;
+    if (config?.retriesLeft > 0 && shouldRetry(error)) {
+      config.retriesLeft -= 1;
+      const retryAfter = Number(error.response?.headers?.["retry-after"]);
+      await sleep(retryAfter > 0 ? retryAfter * 1000 : 1000);
+      // Same config, so the same Idempotency-Key goes out again
+      return api.request(config);
     }
     return Promise.reject(error);
   }
 );
 
+// Generated once per logical call and reused by every retry of it, so a retried
+// registration cannot create a second team. The timeout is longer than the server's
+// idempotency.in-flight-wait (10s), so a retry that finds the first attempt still
+// running gets its 409 and Retry-After instead of timing out itself
+const idempotent = () => ({
+  headers: { "Idempotency-Key": crypto.randomUUID() },
+  timeout: 15000,
+  retriesLeft: 2,
+});
+
 export const authAPI = {
   login: (credentials) => api.post("/auth/login", credentials),
   register: (userData) => api.post("/auth/register", userData),
@@ -39,7 +66,7 @@ export const authAPI = {
 export const tournamentAPI = {
   getAllTournaments: () => api.get("/tournaments"),
   getTournament: (id) => api.get(`/tournaments/${id}`),
-  createTournament: (data) => api.post("/tournaments", data),
+  createTournament: (data) => api.post("/tournaments", data, idempotent()),
   updateTournament: (id, data) => api.put(`/tournaments/${id}`, data),
   updateTournamentStatus: (id, status) =>
     api.put(`/tournaments/${id}/status`, status),
@@ -47,11 +74,11 @@ export const tournamentAPI = {
 };
 
 export const teamAPI = {
-  getAllTeams: () => api.get("/teams"),
+  searchTeams: (params) => api.get("/teams", { params }),
   getTeamsByTournament: (tournamentId) =>
     api.get(`/teams/tournament/${tournamentId}`),
   getMyTeams: () => api.get("/teams/my-teams"),
-  createTeam: (data) => api.post("/teams", data),
+  createTeam: (data) => api.post("/teams", data, idempotent()),
   updateTeam: (id, data) => api.put(`/teams/${id}`, data),
   deleteTeam: (id) => api.delete(`/teams/${id}`),
 };
@@ -63,9 +90,44 @@ export const adminAPI = {
 export const groupAPI = {
   getGroupsByTournament: (tournamentId) =>
     api.get(`/groups/tournament/${tournamentId}`),
-  assignTeamsToGroups: (data) => api.post("/groups/assign-teams", data),
+  assignTeamsToGroups: (data) =>
+    api.post("/groups/assign-teams", data, idempotent()),
   deleteGroupsByTournament: (tournamentId) =>
     api.delete(`/groups/tournament/${tournamentId}`),
 };
 
+export const matchAPI = {
+  getMatchesByTournament: (tournamentId) =>
+    api.get(`/matches/tournament/${tournamentId}`),
+  generateFixtures: (tournamentId) =>
+    api.post(`/matches/tournament/${tournamentId}/generate`),
+  deleteFixtures: (tournamentId) =>
+    api.delete(`/matches/tournament/${tournamentId}`),
+  recordResult: (matchId, result) =>
+    api.put(`/matches/${matchId}/result`, result),
+  clearResult: (matchId) => api.delete(`/matches/${matchId}/result`),
+  getStandingsByTournament: (tournamentId) =>
+    api.get(`/matches/tournament/${tournamentId}/standings`),
+  getStandingsByGroup: (groupId) =>
+    api.get(`/matches/group/${groupId}/standings`),
+  rebuildStandings: (tournamentId) =>
+    api.post(`/matches/tournament/${tournamentId}/standings/rebuild`),
+  getBracket: (tournamentId) =>
+    api.get(`/matches/tournament/${tournamentId}/knockout`),
+  generateBracket: (tournamentId, qualifiersPerGroup) =>
+    api.post(`/matches/tournament/${tournamentId}/knockout`, null, {
+      params: { qualifiersPerGroup },
+    }),
+  deleteBracket: (tournamentId) =>
+    api.delete(`/matches/tournament/${tournamentId}/knockout`),
+  recordKnockoutResult: (matchId, result) =>
+    api.put(`/matches/knockout/${matchId}/result`, result),
+  clearKnockoutResult: (matchId) =>
+    api.delete(`/matches/knockout/${matchId}/result`),
+};
+
+export const searchAPI = {
+  search: (q, params) => api.get("/search", { params: { q, ...params } }),
+};
+
 export default api;